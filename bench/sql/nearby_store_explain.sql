@@ -0,0 +1,90 @@
+-- 근처 식당 조회 EXPLAIN 스크립트 (수동 실행용, 결과는 저장소에 없음)
+--
+-- 사용법 (docker-compose 의 postgres 기준):
+--   psql -h localhost -p 5433 -U $POSTGRES_USER -d $POSTGRES_DB -v rows=1000000 -v spread=3 -f bench/sql/nearby_store_explain.sql
+--
+-- rows 만큼 서산 주변(spread 도 범위)에 가짜 가맹점을 만든 뒤,
+-- 예전 전체 스캔 쿼리(지금은 매퍼에서 삭제, 비교용으로 아래에 그대로 둠)와
+-- GiST bounding box 쿼리(StoreMapper.findNearbyStoresInBox)의 실행 계획을 출력한다.
+-- 아직 PostgreSQL 에서 돌려 본 계획/시간 기록은 없다. 인덱스 사용 여부는 실행해서 직접 확인할 것:
+--   - 박스 쿼리가 idx_bench_store_geo 를 타는 Bitmap/Index Scan 인지
+--   - rows 와 spread 를 함께 늘려 밀도를 고정했을 때 (예: rows=100000 spread=1 → rows=3000000 spread=5.5)
+--     박스 쿼리의 Execution Time 이 거의 일정한지
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+\if :{?spread}
+\else
+\set spread 0.6
+\endif
+
+DROP TABLE IF EXISTS bench_store;
+
+CREATE TABLE bench_store (
+    id        bigserial PRIMARY KEY,
+    name      text,
+    tag       text,
+    latitude  double precision,
+    longitude double precision,
+    geo       point GENERATED ALWAYS AS (point(longitude, latitude)) STORED
+);
+
+INSERT INTO bench_store (name, tag, latitude, longitude)
+SELECT 'store-' || g,
+       (ARRAY['한식', '중식', '해산물', '카페', '분식집', '편의점'])[1 + (g % 6)],
+       36.78 + (random() - 0.5) * :spread,
+       126.45 + (random() - 0.5) * :spread
+FROM generate_series(1, :rows) g;
+
+CREATE INDEX idx_bench_store_geo ON bench_store USING gist (geo);
+ANALYZE bench_store;
+
+-- 반경 5km 의 bounding box (GeoUtils.latDelta / lonDelta 와 같은 계산, 1도 = 6371 * pi / 180 km)
+\set lat 36.7845
+\set lon 126.4503
+\set radius 5
+SELECT :lat - :radius / (6371 * pi() / 180)                     AS min_lat,
+       :lat + :radius / (6371 * pi() / 180)                     AS max_lat,
+       :lon - :radius / (6371 * pi() / 180 * cos(radians(:lat))) AS min_lon,
+       :lon + :radius / (6371 * pi() / 180 * cos(radians(:lat))) AS max_lon
+\gset
+
+-- 1) 예전 쿼리(삭제됨): 모든 행에 대해 거리 계산 후 정렬
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT *
+FROM (
+    SELECT id, name, tag, latitude, longitude,
+           (6371 * acos(
+               cos(radians(:lat)) * cos(radians(latitude)) *
+               cos(radians(longitude) - radians(:lon)) +
+               sin(radians(:lat)) * sin(radians(latitude))
+           )) AS distance
+    FROM bench_store
+    WHERE (tag ILIKE '%식%' OR tag ILIKE '%집%' OR tag ILIKE '%해산물%')
+) sub
+WHERE sub.distance < :radius
+ORDER BY sub.distance ASC
+LIMIT 15;
+
+-- 2) 새 쿼리: GiST bounding box 로 후보를 줄인 뒤 실제 거리순 정렬
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT *
+FROM (
+    SELECT id, name, tag, latitude, longitude,
+           (6371 * acos(LEAST(1.0,
+               cos(radians(:lat)) * cos(radians(latitude)) *
+               cos(radians(longitude) - radians(:lon)) +
+               sin(radians(:lat)) * sin(radians(latitude))
+           ))) AS distance
+    FROM bench_store
+    WHERE geo <@ box(point(:min_lon, :min_lat), point(:max_lon, :max_lat))
+      AND (tag ILIKE '%식%' OR tag ILIKE '%집%' OR tag ILIKE '%해산물%')
+) sub
+WHERE sub.distance < :radius
+ORDER BY sub.distance ASC
+LIMIT 15;
+
+DROP TABLE bench_store;
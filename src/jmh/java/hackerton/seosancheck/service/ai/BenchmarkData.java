@@ -0,0 +1,69 @@
+package hackerton.seosancheck.service.ai;
+
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** 벤치마크 공통 데이터: 서산 주변 좌표의 가짜 후보와 녹화해 둔 OpenAI 응답 */
+final class BenchmarkData {
+
+    static final double SEOSAN_LAT = 36.7845;
+    static final double SEOSAN_LON = 126.4503;
+
+    private static final String[] PLACE_WORDS = {"해미읍성", "간월암", "개심사", "용현계곡", "삼길포항", "황금산", "부석사", "팔봉산", "도비산", "천수만"};
+    private static final String[] STORE_WORDS = {"게국지", "우럭젓국", "어리굴젓", "카페", "한우", "칼국수", "간장게장", "꽃게탕", "베이커리", "생선구이"};
+    private static final String[] STORE_TAGS = {"식당", "카페", "한식", "해산물", "디저트", null};
+
+    private BenchmarkData() {
+    }
+
+    static List<TouristPlace> places(int count, long seed) {
+        Random random = new Random(seed);
+        List<TouristPlace> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TouristPlace p = new TouristPlace();
+            p.setId((long) i + 1);
+            p.setName(PLACE_WORDS[i % PLACE_WORDS.length] + (i / PLACE_WORDS.length == 0 ? "" : " " + (i / PLACE_WORDS.length)));
+            p.setAddress("충청남도 서산시 " + (i + 1) + "번길");
+            p.setLatitude(SEOSAN_LAT + (random.nextDouble() - 0.5) * 0.3);
+            p.setLongitude(SEOSAN_LON + (random.nextDouble() - 0.5) * 0.3);
+            p.setArea((i % 2 == 0) ? "바다" : "내륙");
+            p.setCategory("자연");
+            places.add(p);
+        }
+        return places;
+    }
+
+    static List<Store> stores(int count, long seed) {
+        Random random = new Random(seed);
+        List<Store> stores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Store s = new Store();
+            s.setId((long) i + 1);
+            s.setName("서산 " + STORE_WORDS[i % STORE_WORDS.length] + (i / STORE_WORDS.length == 0 ? "" : " " + (i / STORE_WORDS.length)));
+            s.setAddress("충청남도 서산시 " + (i + 1) + "로");
+            s.setLatitude(SEOSAN_LAT + (random.nextDouble() - 0.5) * 0.3);
+            s.setLongitude(SEOSAN_LON + (random.nextDouble() - 0.5) * 0.3);
+            s.setTag(STORE_TAGS[i % STORE_TAGS.length]);
+            stores.add(s);
+        }
+        return stores;
+    }
+
+    /** src/jmh/resources 의 녹화 응답 */
+    static String resource(String path) {
+        try (InputStream in = BenchmarkData.class.getResourceAsStream("/" + path)) {
+            if (in == null) throw new IllegalStateException("리소스 없음: " + path);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
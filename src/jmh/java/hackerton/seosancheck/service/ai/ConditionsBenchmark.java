@@ -0,0 +1,67 @@
+package hackerton.seosancheck.service.ai;
+
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.service.ai.impl.AIServiceImpl;
+import hackerton.seosancheck.service.ai.support.ThemeClassifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 문장 → 여행 조건 추출.
+ * 키워드로 테마가 안 잡히는 문장은 ThemeClassifier 캐시를 타도록 setup 에서 한 번씩 미리 돌린다
+ * (OpenAI 호출은 없음, 클라이언트 자리는 비워 둠).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionsBenchmark {
+
+    private static final List<String> SENTENCES = List.of(
+            "엄마랑 바다가 보이는 곳에서 힐링하고 싶어요",
+            "친구들이랑 1박2일로 서산 먹방 여행 가자",
+            "연인과 로맨틱한 당일치기 데이트 코스 추천해줘",
+            "아이랑 주말에 자연 체험할 수 있는 곳",
+            "혼자 조용히 산책하면서 역사 공부하고 싶어",
+            "부모님 모시고 해미읍성이랑 개심사 문화 탐방",
+            "커플 인생샷 찍기 좋은 바닷가 포토스팟 알려줘",
+            "정신없이 바쁜 일정으로 2박3일 내륙 여행",
+            "할머니 할아버지랑 계곡 근처에서 쉬고 싶어요",
+            "서산에서 해산물 먹고 감성적인 카페 가고 싶어",
+            "가족끼리 하루 동안 숲에서 생태 체험",
+            "언니랑 오빠랑 같이 도시 구경"
+    );
+
+    private AIServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new AIServiceImpl(null, null, null, null,
+                new ThemeClassifier(registry, 5000), registry, null, null);
+        SENTENCES.forEach(service::extractConditions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public void extractConditions(Blackhole bh) {
+        for (String sentence : SENTENCES) {
+            TravelConditions conditions = service.extractConditions(sentence);
+            bh.consume(conditions);
+        }
+    }
+}
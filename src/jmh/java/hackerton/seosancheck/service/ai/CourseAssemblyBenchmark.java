@@ -0,0 +1,106 @@
+package hackerton.seosancheck.service.ai;
+
+import hackerton.seosancheck.model.ai.AiPlanPayload;
+import hackerton.seosancheck.model.ai.TravelItem;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+import hackerton.seosancheck.service.ai.support.CourseAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 응답 코스 → 후보 매핑 / 5개 보정 / 동선 정렬.
+ * candidates 는 관광지·가게 각각의 후보 수 (실제 요청은 15 전후, 500 은 후보 확장 시 상한 확인용).
+ * 이름 매칭은 정확히 일치 / 철자 차이(퍼지) / 없는 장소(보정으로 채움)가 섞이게 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseAssemblyBenchmark {
+
+    @Param({"15", "100", "500"})
+    public int candidates;
+
+    private List<TouristPlace> places;
+    private List<Store> stores;
+    private CourseAssembler assembler;
+    private AiPlanPayload.Plan byRef;
+    private AiPlanPayload.Plan byName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        places = BenchmarkData.places(candidates, 42L);
+        stores = BenchmarkData.stores(candidates, 7L);
+        assembler = new CourseAssembler(places, stores);
+
+        byRef = plan(List.of(
+                item(1, "P1", null, null),
+                item(2, "S2", null, null),
+                item(3, "P" + candidates, null, null),
+                item(4, "P3", null, null),
+                item(5, "S" + candidates, null, null)));
+
+        TouristPlace last = places.get(places.size() - 1);
+        byName = plan(List.of(
+                item(1, null, "관광지", places.get(0).getName()),
+                item(2, null, "가게", stores.get(1).getName().replace(" ", "")),   // 띄어쓰기 차이
+                item(3, null, "관광지", last.getName() + "길"),                      // 한 글자 차이
+                item(4, null, "관광지", "목록에 없는 전망대"),
+                item(5, null, "식당", "서산 없는 식당")));
+    }
+
+    @Benchmark
+    public TravelPlanResponse assembleByRef() {
+        return assembler.assemble(byRef);
+    }
+
+    @Benchmark
+    public TravelPlanResponse assembleByName() {
+        return assembler.assemble(byName);
+    }
+
+    /** 후보 이름 인덱스 생성까지 포함 (요청마다 한 번) */
+    @Benchmark
+    public TravelPlanResponse assembleWithIndexBuild() {
+        return new CourseAssembler(places, stores).assemble(byName);
+    }
+
+    @Benchmark
+    public List<TravelItem> mapToCourseItems() {
+        return assembler.mapToCourseItems(byName.getCourse());
+    }
+
+    @Benchmark
+    public List<TravelItem> repairCourse() {
+        return assembler.repairCourse(new ArrayList<>());
+    }
+
+    private static AiPlanPayload.Plan plan(List<AiPlanPayload.CourseItem> course) {
+        AiPlanPayload.Plan plan = new AiPlanPayload.Plan();
+        plan.setSummary("바다 내음 가득한 서산 하루");
+        plan.setCourse(course);
+        return plan;
+    }
+
+    private static AiPlanPayload.CourseItem item(int order, String ref, String type, String name) {
+        AiPlanPayload.CourseItem item = new AiPlanPayload.CourseItem();
+        item.setOrder(order);
+        item.setRef(ref);
+        item.setType(type);
+        item.setName(name);
+        item.setDescription("동행과 함께 테마에 맞게 천천히 둘러보기 좋은 곳으로, 서산의 분위기를 느낄 수 있습니다.");
+        return item;
+    }
+}
@@ -0,0 +1,73 @@
+package hackerton.seosancheck.service.ai;
+
+import hackerton.seosancheck.common.geo.GeoUtils;
+import hackerton.seosancheck.model.ai.TravelItem;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+import hackerton.seosancheck.service.ai.support.RouteOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** haversine 거리와 코스 5곳 동선 정렬 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeoBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private final double[] lats = new double[POINTS];
+    private final double[] lons = new double[POINTS];
+    private List<TravelItem> course;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = BenchmarkData.SEOSAN_LAT + (random.nextDouble() - 0.5) * 0.3;
+            lons[i] = BenchmarkData.SEOSAN_LON + (random.nextDouble() - 0.5) * 0.3;
+        }
+
+        // 관광지 → 관광지 → 가게 → 관광지 → 가게 (동선 정렬이 자리를 바꿔야 하는 순서)
+        List<TouristPlace> places = BenchmarkData.places(3, 42L);
+        List<Store> stores = BenchmarkData.stores(2, 7L);
+        course = new ArrayList<>(5);
+        course.add(item(1, "관광지", places.get(0).getName(), places.get(0).getLatitude(), places.get(0).getLongitude()));
+        course.add(item(2, "관광지", places.get(1).getName(), places.get(1).getLatitude(), places.get(1).getLongitude()));
+        course.add(item(3, "가게", stores.get(0).getName(), stores.get(0).getLatitude(), stores.get(0).getLongitude()));
+        course.add(item(4, "관광지", places.get(2).getName(), places.get(2).getLatitude(), places.get(2).getLongitude()));
+        course.add(item(5, "가게", stores.get(1).getName(), stores.get(1).getLatitude(), stores.get(1).getLongitude()));
+    }
+
+    /** 이웃한 좌표 쌍 POINTS 개의 거리 합 */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double haversine() {
+        double sum = 0;
+        for (int i = 0; i < POINTS; i++) {
+            int j = (i + 1) & (POINTS - 1);
+            sum += GeoUtils.distanceKm(lats[i], lons[i], lats[j], lons[j]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public TravelPlanResponse routeFiveStops() {
+        return RouteOptimizer.route("서산 하루", course);
+    }
+
+    private static TravelItem item(int order, String type, String name, Double lat, Double lon) {
+        return new TravelItem(order, (long) order, type, name, "", "충청남도 서산시", lat, lon, null, null);
+    }
+}
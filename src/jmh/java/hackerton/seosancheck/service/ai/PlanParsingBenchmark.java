@@ -0,0 +1,86 @@
+package hackerton.seosancheck.service.ai;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hackerton.seosancheck.model.ai.AiPlanPayload;
+import hackerton.seosancheck.model.ai.ChatCompletion;
+import hackerton.seosancheck.service.ai.support.PlanPayloadReader;
+import hackerton.seosancheck.service.ai.support.PlanStreamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 응답 파싱: 한 번에 받는 응답(ChatCompletion → plans)과 SSE 스트림(청크 → delta → plan 단위 분리).
+ * 응답은 src/jmh/resources/openai 의 코스 3개짜리 응답 (OpenAiClient 와 같은 설정의 ObjectMapper 로 읽음).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlanParsingBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private String completionJson;
+    private String content;
+    private List<String> streamData;
+
+    @Setup
+    public void setUp() throws IOException {
+        completionJson = BenchmarkData.resource("openai/chat-completion.json");
+        content = MAPPER.readValue(completionJson, ChatCompletion.class).firstContent();
+
+        streamData = new ArrayList<>();
+        for (String line : BenchmarkData.resource("openai/chat-completion-stream.txt").split("\n")) {
+            if (!line.startsWith("data:")) continue;
+            String data = line.substring(5).trim();
+            if ("[DONE]".equals(data)) break;
+            streamData.add(data);
+        }
+    }
+
+    /** 응답 본문 → ChatCompletion → plans */
+    @Benchmark
+    public List<AiPlanPayload.Plan> completion() throws IOException {
+        ChatCompletion completion = MAPPER.readValue(completionJson, ChatCompletion.class);
+        List<AiPlanPayload.Plan> plans = new ArrayList<>(3);
+        PlanPayloadReader.readPlans(completion.firstContent(), plans::add);
+        return plans;
+    }
+
+    /** content 만 (plans 배열 읽기) */
+    @Benchmark
+    public List<AiPlanPayload.Plan> content() throws IOException {
+        List<AiPlanPayload.Plan> plans = new ArrayList<>(3);
+        PlanPayloadReader.readPlans(content, plans::add);
+        return plans;
+    }
+
+    /** SSE 청크마다 ChatCompletion 을 읽고 delta 를 PlanStreamParser 에 흘려 plan 단위로 읽음 */
+    @Benchmark
+    public List<AiPlanPayload.Plan> stream() throws IOException {
+        List<AiPlanPayload.Plan> plans = new ArrayList<>(3);
+        PlanStreamParser parser = new PlanStreamParser(json -> {
+            try {
+                plans.add(PlanPayloadReader.readPlan(json));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        for (String data : streamData) {
+            parser.feed(MAPPER.readValue(data, ChatCompletion.class).firstDelta());
+        }
+        return plans;
+    }
+}
@@ -0,0 +1,107 @@
+package hackerton.seosancheck.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * 서산 주변 합성 카탈로그를 내장 DB 에 채운다.
+ * 실제 분포처럼 읍·면 중심지 몇 곳에 몰리게(가우시안) 뿌리고, 서쪽 해안 쪽 관광지는 바다, 나머지는 내륙으로 둔다.
+ * 앱이 뜨기 전에(공간 인덱스가 ApplicationReadyEvent 에서 selectAll 로 만들어지므로) 순수 JDBC 로 넣는다.
+ */
+final class CatalogGenerator {
+
+    // 서산 읍·면 중심 좌표 (위도, 경도, 해안 여부)
+    private static final double[][] HOTSPOTS = {
+            {36.7845, 126.4503, 0}, // 서산 시내
+            {36.7130, 126.5480, 0}, // 해미
+            {36.6120, 126.4110, 1}, // 부석 (간월도)
+            {36.8890, 126.4460, 1}, // 대산 (삼길포)
+            {36.8270, 126.3580, 1}, // 지곡 (황금산)
+            {36.7400, 126.6000, 0}, // 운산
+            {36.6660, 126.3680, 1}, // 천수만
+    };
+
+    private static final String[] PLACE_KINDS = {"읍성", "사찰", "해변", "전망대", "둘레길", "항구", "습지", "수목원", "박물관", "계곡", "공원", "저수지"};
+    private static final String[] PLACE_PREFIXES = {"해미", "간월", "개심", "용현", "삼길", "황금", "팔봉", "도비", "가야", "천수", "부춘", "상왕"};
+    private static final String[] CATEGORIES = {"자연", "역사", "문화", "체험", "생태", "포토스팟"};
+    private static final String[] STORE_KINDS = {"게국지", "우럭젓국", "꽃게장", "한우", "칼국수", "생선구이", "카페", "베이커리", "분식", "해산물"};
+    private static final String[] STORE_TAGS = {"한식", "해산물", "식당", "고깃집", "카페", "디저트", "편의점", "중식"};
+
+    private CatalogGenerator() {
+    }
+
+    static void populate(String jdbcUrl, int places, int stores, long seed) throws SQLException, IOException {
+        Random random = new Random(seed);
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : schema().split(";")) {
+                    if (!sql.isBlank()) statement.execute(sql);
+                }
+            }
+            connection.setAutoCommit(false);
+            insertPlaces(connection, places, random);
+            insertStores(connection, stores, random);
+            connection.commit();
+        }
+    }
+
+    private static void insertPlaces(Connection connection, int count, Random random) throws SQLException {
+        String sql = "INSERT INTO tourist_place (name, address, latitude, longitude, description, reference_date, area, category, image_url) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                double[] spot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+                String name = PLACE_PREFIXES[random.nextInt(PLACE_PREFIXES.length)]
+                        + PLACE_KINDS[random.nextInt(PLACE_KINDS.length)] + " " + (i + 1);
+                ps.setString(1, name);
+                ps.setString(2, "충청남도 서산시 관광로 " + (i + 1));
+                ps.setDouble(3, spot[0] + random.nextGaussian() * 0.03);
+                ps.setDouble(4, spot[1] + random.nextGaussian() * 0.03);
+                ps.setString(5, name + " 해설");
+                ps.setString(6, "2025-01-01");
+                ps.setString(7, (spot[2] > 0) ? "바다" : "내륙");
+                ps.setString(8, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                ps.setString(9, null);
+                ps.addBatch();
+                if (i % 1000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void insertStores(Connection connection, int count, Random random) throws SQLException {
+        String sql = "INSERT INTO store (name, address, detail_address, location, type, longitude, latitude, kind_store, tag) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                double[] spot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+                ps.setString(1, "서산 " + STORE_KINDS[random.nextInt(STORE_KINDS.length)] + " " + (i + 1));
+                ps.setString(2, "충청남도 서산시 상가로 " + (i + 1));
+                ps.setString(3, null);
+                ps.setString(4, "서산시");
+                ps.setString(5, "일반");
+                ps.setDouble(6, spot[1] + random.nextGaussian() * 0.02);
+                ps.setDouble(7, spot[0] + random.nextGaussian() * 0.02);
+                ps.setString(8, null);
+                ps.setString(9, STORE_TAGS[random.nextInt(STORE_TAGS.length)]);
+                ps.addBatch();
+                if (i % 1000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static String schema() throws IOException {
+        try (InputStream in = CatalogGenerator.class.getResourceAsStream("/loadtest/schema.sql")) {
+            if (in == null) throw new IOException("loadtest/schema.sql 없음");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
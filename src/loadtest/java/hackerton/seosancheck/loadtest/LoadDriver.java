@@ -0,0 +1,170 @@
+package hackerton.seosancheck.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 닫힌 루프 부하: 가상 사용자 concurrency 명이 응답을 받자마자 다음 요청을 보낸다.
+ * warmup 동안 시작한 요청은 버리고, 측정 구간 안에서 시작한 요청은 언제 끝나든 모두 지연(ms)에 넣는다.
+ * 구간이 끝나면 새 요청만 멈추고 진행 중인 요청은 끝까지 기다린다 (구간을 넘긴 느린 요청이 백분위에서 빠지지 않게).
+ */
+final class LoadDriver {
+
+    private static final List<String> SENTENCES = List.of(
+            "엄마랑 바다가 보이는 곳에서 힐링하고 싶어요",
+            "친구들이랑 서산 먹방 여행 가자",
+            "연인과 로맨틱한 당일치기 데이트 코스 추천해줘",
+            "아이랑 주말에 자연 체험할 수 있는 곳",
+            "혼자 조용히 역사 공부하고 싶어",
+            "부모님 모시고 문화 탐방",
+            "커플 인생샷 찍기 좋은 포토스팟 알려줘",
+            "가족끼리 하루 동안 생태 체험",
+            "서산에서 해산물 먹고 감성적인 카페 가고 싶어",
+            "할머니랑 계곡 근처에서 쉬고 싶어요"
+    );
+    private static final List<String> AREAS = List.of("바다", "내륙");
+
+    record Options(String baseUrl, int concurrency, int warmupSeconds, int durationSeconds,
+                   boolean stream, boolean seeded, Duration timeout) {
+    }
+
+    record Report(long requests, long errors, double throughput, Map<String, Long> percentilesMs,
+                  double meanMs, Map<Integer, Long> statuses) {
+    }
+
+    private final Options options;
+    private final HttpClient client;
+
+    LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    Report run() {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(options.warmupSeconds()).toNanos();
+        long end = measureFrom + Duration.ofSeconds(options.durationSeconds()).toNanos();
+
+        List<Future<Samples>> users = new ArrayList<>(options.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                users.add(executor.submit(() -> user(measureFrom, end)));
+            }
+        }
+
+        Samples all = new Samples();
+        for (Future<Samples> user : users) {
+            try {
+                all.addAll(user.get());
+            } catch (Exception e) {
+                throw new IllegalStateException("가상 사용자 실패", e);
+            }
+        }
+        return all.report(options.durationSeconds());
+    }
+
+    private Samples user(long measureFrom, long end) {
+        Samples samples = new Samples();
+        while (System.nanoTime() < end) {
+            HttpRequest request = HttpRequest.newBuilder(nextUri())
+                    .timeout(options.timeout())
+                    .GET()
+                    .build();
+            long begin = System.nanoTime();
+            int status;
+            try {
+                // 스트리밍은 마지막 이벤트까지 받아야 끝난 것으로 본다
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                status = -1;
+            }
+            long finished = System.nanoTime();
+            if (begin >= measureFrom && begin < end) {
+                samples.add((finished - begin) / 1_000_000L, status);
+            }
+        }
+        return samples;
+    }
+
+    private URI nextUri() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder uri = new StringBuilder(options.baseUrl())
+                .append(options.stream() ? "/api/ai/travel-plans/stream" : "/api/ai/travel-plans")
+                .append("?area=").append(encode(AREAS.get(random.nextInt(AREAS.size()))))
+                .append("&text=").append(encode(SENTENCES.get(random.nextInt(SENTENCES.size()))));
+        // seed 요청은 풀을 건너뛰고 후보도 매번 달라져 캐시도 거의 안 맞음 → 매 요청이 실제 생성 경로
+        if (options.seeded()) uri.append("&seed=").append(random.nextLong());
+        return URI.create(uri.toString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /** 가상 사용자 한 명의 측정값 (스레드마다 따로 모아 마지막에 합침) */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        void add(long latencyMs, int status) {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = latencyMs;
+            if (status < 200 || status >= 300) errors++;
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+                latencies[size++] = other.latencies[i];
+            }
+            errors += other.errors;
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+
+        Report report(int durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", percentile(sorted, 0.50));
+            percentiles.put("p90", percentile(sorted, 0.90));
+            percentiles.put("p95", percentile(sorted, 0.95));
+            percentiles.put("p99", percentile(sorted, 0.99));
+            percentiles.put("p99.9", percentile(sorted, 0.999));
+            percentiles.put("max", (size == 0) ? 0 : sorted[size - 1]);
+            double mean = (size == 0) ? 0 : Arrays.stream(sorted).average().orElse(0);
+            return new Report(size, errors, size / (double) durationSeconds, percentiles, mean, statuses);
+        }
+
+        // nearest-rank
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package hackerton.seosancheck.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hackerton.seosancheck.SeosancheckApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 부하 테스트 진입점: OpenAI 스텁 → H2 합성 카탈로그 → 앱(loadtest 프로필) → 부하 → 결과 출력/JSON 저장.
+ * 인자는 key=value (기본값은 DEFAULTS), 예: concurrency=200 duration=60 latency-ms=2000 jitter-ms=800 stream=true
+ * - stub-max-concurrency=N : 스텁이 동시 N 건을 넘으면 429 (0 = 제한 없음)
+ * - seeded=true  : 매 요청 seed 를 붙여 풀/캐시를 피함 (생성 경로의 한계 측정)
+ * - seeded=false : 실제 트래픽처럼 풀/캐시가 맞는 요청 포함
+ * 서버 쪽 지표(요청 출처·fallback, OpenAI 호출 결과)는 같은 JVM 의 MeterRegistry 에서 바로 읽는다.
+ */
+public final class LoadTestRunner {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("places", "2000"),
+            Map.entry("stores", "5000"),
+            Map.entry("data-seed", "42"),
+            Map.entry("latency-ms", "1500"),
+            Map.entry("jitter-ms", "500"),
+            Map.entry("stub-max-concurrency", "0"),
+            Map.entry("concurrency", "50"),
+            Map.entry("warmup", "10"),
+            Map.entry("duration", "60"),
+            Map.entry("timeout", "60"),
+            Map.entry("stream", "false"),
+            Map.entry("seeded", "true"),
+            Map.entry("out", "build/reports/loadtest/result.json")
+    );
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg + " (사용 가능: " + new TreeMap<>(DEFAULTS).keySet() + ")");
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        String jdbcUrl = "jdbc:h2:mem:seosan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        CatalogGenerator.populate(jdbcUrl, intOf(options, "places"), intOf(options, "stores"),
+                Long.parseLong(options.get("data-seed")));
+
+        try (OpenAiStub stub = new OpenAiStub(intOf(options, "latency-ms"), intOf(options, "jitter-ms"),
+                intOf(options, "stub-max-concurrency"));
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(SeosancheckApplication.class)
+                     .run("--spring.profiles.active=loadtest",
+                             "--spring.datasource.url=" + jdbcUrl,
+                             "--openai.api-url=" + stub.url())) {
+
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadDriver.Options driverOptions = new LoadDriver.Options(
+                    "http://127.0.0.1:" + port,
+                    intOf(options, "concurrency"),
+                    intOf(options, "warmup"),
+                    intOf(options, "duration"),
+                    Boolean.parseBoolean(options.get("stream")),
+                    Boolean.parseBoolean(options.get("seeded")),
+                    Duration.ofSeconds(intOf(options, "timeout")));
+
+            System.out.printf("부하 시작: 동시 %d, 워밍업 %ds, 측정 %ds, 스텁 지연 %s±%sms%n",
+                    driverOptions.concurrency(), driverOptions.warmupSeconds(), driverOptions.durationSeconds(),
+                    options.get("latency-ms"), options.get("jitter-ms"));
+            LoadDriver.Report report = new LoadDriver(driverOptions).run();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("options", new TreeMap<>(options));
+            result.put("client", report);
+            result.put("server", serverMetrics(app.getBean(MeterRegistry.class)));
+            result.put("openaiStubCalls", stub.calls());
+            result.put("openaiStubRateLimited", stub.rateLimited());
+
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            System.out.println(mapper.writeValueAsString(result));
+
+            File out = new File(options.get("out"));
+            if (out.getParentFile() != null) out.getParentFile().mkdirs();
+            mapper.writeValue(out, result);
+            System.out.println("결과 저장: " + out.getAbsolutePath());
+        }
+    }
+
+    // ai.plan.request 를 source/fallback 별로, openai.calls 를 outcome 별로, 로컬 대체 사유와 리미터 상태 (워밍업 포함 누적)
+    private static Map<String, Object> serverMetrics(MeterRegistry registry) {
+        Map<String, Long> requests = new TreeMap<>();
+        for (Timer timer : registry.find("ai.plan.request").timers()) {
+            String key = timer.getId().getTag("source") + (Boolean.parseBoolean(timer.getId().getTag("fallback")) ? "+fallback" : "");
+            requests.merge(key, timer.count(), Long::sum);
+        }
+        Map<String, Long> openAiCalls = new TreeMap<>();
+        for (Counter counter : registry.find("openai.calls").counters()) {
+            openAiCalls.merge(counter.getId().getTag("outcome"), (long) counter.count(), Long::sum);
+        }
+        Map<String, Long> localPlans = new TreeMap<>();
+        for (Counter counter : registry.find("ai.plan.local").counters()) {
+            localPlans.merge(counter.getId().getTag("reason"), (long) counter.count(), Long::sum);
+        }
+        Map<String, Long> limiterRejected = new TreeMap<>();
+        for (Counter counter : registry.find("openai.limiter.rejected").counters()) {
+            limiterRejected.merge(counter.getId().getTag("reason"), (long) counter.count(), Long::sum);
+        }
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("planRequests", requests);
+        server.put("openaiCalls", openAiCalls);
+        server.put("localPlans", localPlans);
+        server.put("limiterRejected", limiterRejected);
+        Gauge limit = registry.find("openai.limiter.limit").gauge();
+        server.put("limiterLimit", (limit == null) ? null : limit.value());
+        return server;
+    }
+
+    private static int intOf(Map<String, String> options, String key) {
+        return Integer.parseInt(options.get(key));
+    }
+}
@@ -0,0 +1,185 @@
+package hackerton.seosancheck.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * chat/completions 를 흉내 내는 로컬 HTTP 스텁.
+ * - 코스 생성 요청(response_format 있음): 녹화해 둔 plans JSON 을 content 로 돌려줌
+ * - 테마 분류 요청: 라벨 하나
+ * - stream=true 면 SSE 로 content 를 잘게 나눠 보내고, stream_options.include_usage 면 마지막에 usage
+ * 응답 지연은 latency ± jitter(ms, 균등 분포), 스트림은 그 절반을 첫 토큰까지, 나머지를 청크 사이에 나눠 쓴다.
+ * maxConcurrent > 0 이면 그보다 많은 동시 요청에는 OpenAI 처럼 429 + retry-after-ms 로 답한다 (리미터 동작 확인용).
+ */
+final class OpenAiStub implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String MODEL = "gpt-4o-mini-2024-07-18";
+    private static final int CHUNK_CHARS = 24;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String planContent;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final Semaphore slots;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    OpenAiStub(long latencyMs, long jitterMs, int maxConcurrent) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.slots = (maxConcurrent > 0) ? new Semaphore(maxConcurrent) : null;
+        try (InputStream in = OpenAiStub.class.getResourceAsStream("/loadtest/openai-plans.json")) {
+            if (in == null) throw new IOException("loadtest/openai-plans.json 없음");
+            this.planContent = MAPPER.writeValueAsString(MAPPER.readTree(in));
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.createContext("/v1/chat/completions", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long rateLimited() {
+        return rateLimited.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (slots != null && !slots.tryAcquire()) {
+            rejectWith429(exchange);
+            return;
+        }
+        try {
+            respond(exchange);
+        } finally {
+            if (slots != null) slots.release();
+        }
+    }
+
+    private void rejectWith429(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            rateLimited.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = MAPPER.writeValueAsBytes(Map.of("error", Map.of(
+                    "message", "Rate limit reached for requests", "type", "requests", "code", "rate_limit_exceeded")));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("retry-after-ms", "500");
+            exchange.getResponseHeaders().set("x-ratelimit-remaining-requests", "0");
+            exchange.getResponseHeaders().set("x-ratelimit-reset-requests", "500ms");
+            exchange.sendResponseHeaders(429, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            calls.incrementAndGet();
+            JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+            String content = request.has("response_format") ? planContent : "힐링";
+            long delay = delay();
+
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, content, delay, request.path("stream_options").path("include_usage").asBoolean(false));
+            } else {
+                sleep(delay);
+                Map<String, Object> message = new LinkedHashMap<>();
+                message.put("role", "assistant");
+                message.put("content", content);
+                message.put("refusal", null);
+                byte[] body = MAPPER.writeValueAsBytes(envelope("chat.completion",
+                        List.of(Map.of("index", 0, "message", message, "finish_reason", "stop")), usage(content)));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(HttpExchange exchange, String content, long delay, boolean includeUsage)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+
+        int chunks = (content.length() + CHUNK_CHARS - 1) / CHUNK_CHARS;
+        long gapNanos = (chunks == 0) ? 0 : (delay / 2) * 1_000_000L / chunks;
+        sleep(delay - delay / 2);
+        for (int i = 0; i < content.length(); i += CHUNK_CHARS) {
+            String piece = content.substring(i, Math.min(content.length(), i + CHUNK_CHARS));
+            event(out, envelope("chat.completion.chunk",
+                    List.of(Map.of("index", 0, "delta", Map.of("content", piece))), null));
+            if (gapNanos > 0) Thread.sleep(gapNanos / 1_000_000L, (int) (gapNanos % 1_000_000L));
+        }
+        event(out, envelope("chat.completion.chunk",
+                List.of(Map.of("index", 0, "delta", Map.of(), "finish_reason", "stop")), null));
+        if (includeUsage) {
+            event(out, envelope("chat.completion.chunk", List.of(), usage(content)));
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void event(OutputStream out, Object chunk) throws IOException {
+        out.write(("data: " + MAPPER.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static Map<String, Object> envelope(String object, List<?> choices, Map<String, Object> usage) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "chatcmpl-loadtest");
+        body.put("object", object);
+        body.put("created", System.currentTimeMillis() / 1000);
+        body.put("model", MODEL);
+        body.put("choices", choices);
+        body.put("usage", usage);
+        return body;
+    }
+
+    // 한글 위주라 글자 수를 completion 토큰으로, 프롬프트는 실제 요청 평균 근처 고정값
+    private static Map<String, Object> usage(String content) {
+        return Map.of("prompt_tokens", 1200, "completion_tokens", content.length(),
+                "total_tokens", 1200 + content.length());
+    }
+
+    private long delay() {
+        if (jitterMs <= 0) return latencyMs;
+        return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+-- 부하 테스트용 H2(PostgreSQL 모드) 스키마, 운영 테이블과 같은 컬럼
+CREATE TABLE IF NOT EXISTS tourist_place (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(255),
+    address        VARCHAR(255),
+    latitude       DOUBLE PRECISION,
+    longitude      DOUBLE PRECISION,
+    description    TEXT,
+    reference_date VARCHAR(50),
+    area           VARCHAR(50),
+    category       VARCHAR(50),
+    image_url      VARCHAR(500),
+    type           VARCHAR(50)
+);
+
+CREATE TABLE IF NOT EXISTS store (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(255),
+    address        VARCHAR(255),
+    detail_address VARCHAR(255),
+    location       VARCHAR(100),
+    type           VARCHAR(50),
+    longitude      DOUBLE PRECISION,
+    latitude       DOUBLE PRECISION,
+    kind_store     VARCHAR(50),
+    tag            VARCHAR(100)
+);
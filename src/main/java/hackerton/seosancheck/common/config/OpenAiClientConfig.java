@@ -0,0 +1,64 @@
+package hackerton.seosancheck.common.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI 전용 HTTP 클라이언트 (JDK HttpClient: HTTP/2 + 커넥션 재사용 + 타임아웃).
+ * api.openai.com 은 ALPN 으로 HTTP/2 를 협상하므로 동시 요청이 커넥션 하나에 스트림으로 multiplex 되고,
+ * HTTP/2 를 못 쓰는 서버(로컬 스텁 등)에는 HTTP/1.1 keep-alive 커넥션을 재사용한다.
+ * JDK 클라이언트는 커넥션 풀 통계를 내주지 않으므로 응답 헤더를 기다리는 요청 수만 게이지로 남긴다
+ * (동시 호출 수·대기열은 openai.limiter.* 참고).
+ */
+@Configuration
+public class OpenAiClientConfig {
+
+    @Value("${openai.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    // 요청을 보낸 뒤 응답 헤더까지 (스트리밍은 첫 응답까지)
+    @Value("${openai.http.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    // 종료 시 진행 중인 스트림을 기다리지 않고 끊음 (close() 는 끝날 때까지 기다림)
+    @Bean(destroyMethod = "shutdownNow")
+    public HttpClient openAiHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate openAiRestTemplate(HttpClient openAiHttpClient, MeterRegistry registry) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(openAiHttpClient);
+        factory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        AtomicInteger pending = new AtomicInteger();
+        Gauge.builder("openai.http.pending", pending, AtomicInteger::get)
+                .description("응답 헤더를 기다리는 OpenAI 요청 수")
+                .register(registry);
+        ClientHttpRequestInterceptor tracking = (request, body, execution) -> {
+            pending.incrementAndGet();
+            try {
+                return execution.execute(request, body);
+            } finally {
+                pending.decrementAndGet();
+            }
+        };
+
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(tracking);
+        return restTemplate;
+    }
+}
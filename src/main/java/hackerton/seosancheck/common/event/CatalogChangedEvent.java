@@ -0,0 +1,17 @@
+package hackerton.seosancheck.common.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 엑셀 import / 전체 삭제로 store, tourist_place 데이터가 바뀌었을 때 발행.
+ * 같은 JVM 안에서만 전달되며, 다른 인스턴스의 변경은 CatalogVersionWatcher 가 감지해 다시 발행한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum Target { STORE, TOURIST_PLACE }
+
+    private final Target target;
+}
@@ -0,0 +1,121 @@
+package hackerton.seosancheck.common.excel;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * XSSF 이벤트(SAX) 모델로 .xlsx 첫 번째 시트를 한 행씩 읽는다.
+ * XSSFWorkbook DOM 을 만들지 않으므로 파일 크기와 상관없이 메모리 사용량이 일정하다.
+ */
+public final class StreamingExcelReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNum 0부터 시작하는 행 번호 (0 = 헤더)
+         * @param cells  길이가 columns 인 셀 문자열 배열, 빈 셀은 ""
+         */
+        void handle(int rowNum, String[] cells);
+    }
+
+    private StreamingExcelReader() {
+    }
+
+    /** 업로드 스트림을 임시 파일로 내려받은 뒤 읽는다 (OPCPackage 는 파일일 때만 전체를 메모리에 올리지 않는다) */
+    public static void readFirstSheet(InputStream in, int columns, RowHandler handler) throws Exception {
+        Path temp = Files.createTempFile("excel-import-", ".xlsx");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            readFirstSheet(temp.toFile(), columns, handler);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static void readFirstSheet(File file, int columns, RowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) return;
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new RowCollector(columns, handler), new RawNumberFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    /**
+     * 숫자 셀은 표시 형식("0.00" 등)을 무시하고 저장된 값 그대로 (위경도가 표시 자릿수로 잘리지 않게).
+     * 날짜 형식만 DataFormatter 표시 문자열로 둔다.
+     */
+    private static final class RawNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return super.formatRawCellContents(value, formatIndex, formatString);
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    /** SAX 셀 이벤트를 모아 한 행 단위 String[] 로 넘긴다. 배열은 행마다 새로 만든다. */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final int columns;
+        private final RowHandler handler;
+        private String[] cells;
+        private int nextCol;
+
+        private RowCollector(int columns, RowHandler handler) {
+            this.columns = columns;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new String[columns];
+            Arrays.fill(cells, "");
+            nextCol = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.handle(rowNum, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = (cellReference == null) ? nextCol : new CellReference(cellReference).getCol();
+            nextCol = col + 1;
+            if (col < columns && formattedValue != null) {
+                cells[col] = formattedValue.trim();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package hackerton.seosancheck.common.geo;
+
+import java.util.Arrays;
+
+/**
+ * 위경도 격자(grid) 기반 공간 인덱스.
+ * 좌표는 primitive double[] 로만 들고, 셀 키 순으로 정렬된 포인트 번호 배열(CSR 형태)을 만든다.
+ * 조회 비용은 전체 건수가 아니라 반경 안의 셀/포인트 수에 비례한다.
+ */
+public final class GeoGrid {
+
+    /** 셀 크기(도). 위도 기준 약 2.2km */
+    private static final double CELL_DEG = 0.02;
+    private static final int OFFSET = 1 << 14; // 행·열 번호를 음수 없이 16비트에 담기 위한 보정값
+
+    private final double[] lat;
+    private final double[] lon;
+    private final int[] cellKeys;   // 정렬된 고유 셀 키
+    private final int[] cellStart;  // cellKeys[i] 의 포인트는 points[cellStart[i] .. cellStart[i + 1])
+    private final int[] points;
+
+    private GeoGrid(double[] lat, double[] lon, int[] cellKeys, int[] cellStart, int[] points) {
+        this.lat = lat;
+        this.lon = lon;
+        this.cellKeys = cellKeys;
+        this.cellStart = cellStart;
+        this.points = points;
+    }
+
+    public static GeoGrid build(double[] lat, double[] lon) {
+        if (lat.length != lon.length) {
+            throw new IllegalArgumentException("lat/lon 길이가 다릅니다.");
+        }
+        int n = lat.length;
+
+        // (셀 키 << 32 | 포인트 번호) 를 정렬하면 셀 순서대로 포인트가 모인다
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) cellKey(row(lat[i]), col(lon[i])) << 32) | i;
+        }
+        Arrays.sort(packed);
+
+        int[] points = new int[n];
+        int[] keys = new int[n];
+        int[] starts = new int[n + 1];
+        int cells = 0;
+        int prev = 0;
+        for (int i = 0; i < n; i++) {
+            int key = (int) (packed[i] >>> 32);
+            points[i] = (int) packed[i];
+            if (i == 0 || key != prev) {
+                keys[cells] = key;
+                starts[cells] = i;
+                cells++;
+                prev = key;
+            }
+        }
+        starts[cells] = n;
+
+        return new GeoGrid(lat, lon,
+                Arrays.copyOf(keys, cells),
+                Arrays.copyOf(starts, cells + 1),
+                points);
+    }
+
+    public int size() {
+        return lat.length;
+    }
+
+    /** 반경(km) 안의 포인트 번호 (순서 보장 없음) */
+    public int[] withinRadius(double centerLat, double centerLon, double radiusKm) {
+        int[] out = new int[16];
+        int count = 0;
+
+        int r0 = row(centerLat - GeoUtils.latDelta(radiusKm));
+        int r1 = row(centerLat + GeoUtils.latDelta(radiusKm));
+        double dLon = GeoUtils.lonDelta(centerLat, radiusKm);
+        int c0 = col(centerLon - dLon);
+        int c1 = col(centerLon + dLon);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = Arrays.binarySearch(cellKeys, cellKey(r, c));
+                if (cell < 0) continue;
+                for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                    int idx = points[p];
+                    if (GeoUtils.distanceKm(centerLat, centerLon, lat[idx], lon[idx]) < radiusKm) {
+                        if (count == out.length) out = Arrays.copyOf(out, count * 2);
+                        out[count++] = idx;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    /** 반경(km) 안에서 가까운 순 최대 k개 포인트 번호 */
+    public int[] nearest(double centerLat, double centerLon, double radiusKm, int k) {
+        if (k <= 0) return new int[0];
+        int[] candidates = withinRadius(centerLat, centerLon, radiusKm);
+
+        // 크기 k 의 최대 힙(가장 먼 후보가 루트)
+        int[] heap = new int[Math.min(k, candidates.length)];
+        double[] dist = new double[heap.length];
+        int size = 0;
+        for (int idx : candidates) {
+            double d = GeoUtils.distanceKm(centerLat, centerLon, lat[idx], lon[idx]);
+            if (size < heap.length) {
+                heap[size] = idx;
+                dist[size] = d;
+                siftUp(heap, dist, size++);
+            } else if (d < dist[0]) {
+                heap[0] = idx;
+                dist[0] = d;
+                siftDown(heap, dist, size);
+            }
+        }
+
+        // 힙에서 먼 것부터 꺼내 뒤에서부터 채우면 가까운 순 정렬
+        int[] out = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            out[i] = heap[0];
+            heap[0] = heap[i];
+            dist[0] = dist[i];
+            siftDown(heap, dist, i);
+        }
+        return out;
+    }
+
+    private static void siftUp(int[] heap, double[] dist, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dist[parent] >= dist[i]) break;
+            swap(heap, dist, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, double[] dist, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int largest = left;
+            if (left + 1 < size && dist[left + 1] > dist[left]) largest = left + 1;
+            if (dist[i] >= dist[largest]) break;
+            swap(heap, dist, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(int[] heap, double[] dist, int a, int b) {
+        int ti = heap[a];
+        heap[a] = heap[b];
+        heap[b] = ti;
+        double td = dist[a];
+        dist[a] = dist[b];
+        dist[b] = td;
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEG);
+    }
+
+    private static int col(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEG);
+    }
+
+    private static int cellKey(int row, int col) {
+        return ((row + OFFSET) << 16) | ((col + OFFSET) & 0xFFFF);
+    }
+}
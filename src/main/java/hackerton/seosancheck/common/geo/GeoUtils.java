@@ -0,0 +1,32 @@
+package hackerton.seosancheck.common.geo;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    // distanceKm 과 같은 구 반지름에서 유도 (≈111.195km), 박스 필터가 반경보다 좁아지지 않게
+    public static final double KM_PER_DEGREE_LAT = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private GeoUtils() {
+    }
+
+    /** 두 좌표 사이 거리(km, haversine) */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** 반경(km)에 해당하는 위도 차이(도) */
+    public static double latDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    /** 반경(km)에 해당하는 경도 차이(도), 고위도에서 폭주하지 않도록 cos 하한을 둔다 */
+    public static double lonDelta(double latitude, double radiusKm) {
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        return radiusKm / (KM_PER_DEGREE_LAT * cos);
+    }
+}
@@ -0,0 +1,32 @@
+package hackerton.seosancheck.common.query;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** MyBatis Cursor 를 한 행씩 읽으면서 바로 JSON 배열로 쓴다 (결과 전체를 메모리에 올리지 않음) */
+public final class CursorJsonWriter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private CursorJsonWriter() {
+    }
+
+    /** @return 쓴 행 수 */
+    public static long write(Cursor<?> cursor, OutputStream out, ObjectMapper mapper) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫음
+            generator.writeStartArray();
+            for (Object row : cursor) {
+                generator.writeObject(row);
+                if (++rows % FLUSH_EVERY == 0) generator.flush();
+            }
+            generator.writeEndArray();
+        }
+        return rows;
+    }
+}
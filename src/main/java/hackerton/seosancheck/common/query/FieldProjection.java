@@ -0,0 +1,45 @@
+package hackerton.seosancheck.common.query;
+
+import hackerton.seosancheck.common.exception.CustomException;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * ?fields=name,address 같은 요청 필드를 SELECT 목록으로 바꾼다.
+ * 허용 목록(필드명 → 컬럼)에 있는 것만 쓰므로 ${} 로 SQL 에 넣어도 안전하다.
+ * 페이지 커서로 쓰는 id 는 항상 포함.
+ */
+public final class FieldProjection {
+
+    private FieldProjection() {
+    }
+
+    /** @return `컬럼 AS "필드명"` 목록 (fields 가 비어 있으면 전체) */
+    public static String select(Map<String, String> allowed, String fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        if (fields == null || fields.isBlank()) {
+            requested.addAll(allowed.keySet());
+        } else {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) continue;
+                if (!allowed.containsKey(name)) {
+                    throw new CustomException("알 수 없는 필드입니다: " + name, HttpStatus.BAD_REQUEST);
+                }
+                requested.add(name);
+            }
+        }
+
+        // 따옴표 별칭이라야 PostgreSQL 이 camelCase 키를 소문자로 바꾸지 않는다
+        StringJoiner columns = new StringJoiner(", ");
+        for (String name : requested) {
+            columns.add(allowed.get(name) + " AS \"" + name + "\"");
+        }
+        return columns.toString();
+    }
+}
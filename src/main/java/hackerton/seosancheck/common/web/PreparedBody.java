@@ -0,0 +1,76 @@
+package hackerton.seosancheck.common.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 직렬화해 둔 JSON 응답 본문 (원본 + gzip + 내용 해시 ETag).
+ * ResponseEntity 에 ETag 를 실어 보내면 Spring 이 If-None-Match 와 비교해 304 를 대신 처리한다.
+ */
+public final class PreparedBody {
+
+    private static final int GZIP_MIN_BYTES = 1024; // 작은 본문은 압축 이득보다 오버헤드가 큼
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final long version;
+
+    private PreparedBody(byte[] json, byte[] gzip, String etag, long version) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+        this.version = version;
+    }
+
+    public static PreparedBody of(byte[] json, long version) {
+        byte[] gzip = (json.length >= GZIP_MIN_BYTES) ? gzip(json) : null;
+        return new PreparedBody(json, gzip, "\"" + sha256(json) + "\"", version);
+    }
+
+    /** @param acceptEncoding 요청의 Accept-Encoding 헤더 (gzip 을 받으면 압축본을 그대로 보냄) */
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+        boolean useGzip = gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache()) // 캐시는 하되 매번 ETag 로 재검증
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header("X-Catalog-Version", String.valueOf(version));
+        if (useGzip) {
+            // 표현(압축 여부)마다 ETag 를 다르게
+            return builder.eTag(etag.substring(0, etag.length() - 1) + "-gz\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(gzip);
+        }
+        return builder.eTag(etag).body(json);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
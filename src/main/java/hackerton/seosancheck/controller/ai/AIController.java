@@ -5,10 +5,17 @@ import hackerton.seosancheck.model.ai.TravelPlanResponse;
 import hackerton.seosancheck.service.ai.impl.AIServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -18,15 +25,72 @@ public class AIController {
 
     private final AIServiceImpl aiService;
 
+    @Value("${ai.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
+
+    @Value("${ai.stream.timeout-ms:90000}")
+    private long streamTimeoutMs;
 
     @GetMapping("/travel-plans")
-    public ResponseEntity<List<TravelPlanResponse>> getPlans(
+    public DeferredResult<List<TravelPlanResponse>> getPlans(
             @RequestParam String area,
-            @RequestParam(required = false) String text
+            @RequestParam(required = false) String text,
+            @RequestParam(required = false) Long seed
     ) {
-        log.info("[travel-plans] area: {}, text: {}", area, text);
-        return ResponseEntity.ok(aiService.generateMultiplePlans(text, area));
+        log.info("[travel-plans] area: {}, text: {}, seed: {}", area, text, seed);
+        DeferredResult<List<TravelPlanResponse>> result = new DeferredResult<>(requestTimeoutMs);
+        CompletableFuture<List<TravelPlanResponse>> plans = aiService.generateMultiplePlansAsync(text, area, seed);
+        plans.whenComplete((list, e) -> {
+            if (e == null) {
+                result.setResult(list);
+            } else if (e instanceof CancellationException) {
+                log.debug("코스 생성 취소: {}", e.getMessage());
+            } else {
+                result.setErrorResult(e);
+            }
+        });
+        // 타임아웃·클라이언트 연결 끊김이면 진행 중인 DB/OpenAI 호출까지 interrupt
+        result.onTimeout(() -> plans.cancel(true));
+        result.onError(e -> plans.cancel(true));
+        return result;
     }
 
+    @GetMapping(value = "/travel-plans/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPlans(
+            @RequestParam String area,
+            @RequestParam(required = false) String text,
+            @RequestParam(required = false) Long seed
+    ) {
+        log.info("[travel-plans/stream] area: {}, text: {}, seed: {}", area, text, seed);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        // 코스가 하나 완성될 때마다 "plan" 이벤트로 보내고, 끝나면 "done" 이벤트를 보낸다
+        CompletableFuture<List<TravelPlanResponse>> plans = aiService.streamMultiplePlans(text, area, seed,
+                plan -> send(emitter, SseEmitter.event().name("plan").data(plan, MediaType.APPLICATION_JSON)));
+        plans.whenComplete((list, e) -> {
+            if (e == null) {
+                try {
+                    send(emitter, SseEmitter.event().name("done").data(list.size()));
+                    emitter.complete();
+                } catch (UncheckedIOException ex) {
+                    emitter.completeWithError(ex.getCause());
+                }
+            } else if (e instanceof CancellationException) {
+                log.debug("코스 스트리밍 취소: {}", e.getMessage());
+            } else {
+                log.warn("코스 스트리밍 중단: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        emitter.onTimeout(() -> plans.cancel(true));
+        emitter.onError(e -> plans.cancel(true));
+        return emitter;
+    }
 
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,13 +1,16 @@
 package hackerton.seosancheck.controller.place;
 
-import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.common.web.PreparedBody;
+import hackerton.seosancheck.model.importjob.ImportJob;
+import hackerton.seosancheck.service.place.CatalogSnapshotService;
 import hackerton.seosancheck.service.place.StoreService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/store")
@@ -15,24 +18,46 @@ import java.util.List;
 public class StoreController {
 
     private final StoreService service;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @PostMapping("/import")
-    public ResponseEntity<String> importExcel(@RequestParam("file") MultipartFile file) {
-        service.importExcel(file);
-        return ResponseEntity.ok("엑셀 데이터 업로드 성공");
+    public ResponseEntity<ImportJob> importExcel(@RequestParam("file") MultipartFile file) {
+        // 진행 상황은 GET /api/import-jobs/{id} 로 조회
+        return ResponseEntity.accepted().body(service.importExcel(file));
     }
 
+    // 파라미터가 없으면 기존처럼 전체 목록, after/limit/fields 가 있으면 keyset 페이지
     @GetMapping
-    public ResponseEntity<List<Store>> getAllStores() {
-        return ResponseEntity.ok(service.getAllStores());
+    public ResponseEntity<?> getAllStores(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        if (after == null && limit == null && fields == null) {
+            // 메모리 스냅샷에서 미리 직렬화된 본문, If-None-Match 가 맞으면 304
+            return catalogSnapshotService.storeList().toResponse(acceptEncoding);
+        }
+        return ResponseEntity.ok(service.getStorePage(after, limit, fields));
+    }
+
+    // 전체 데이터를 페이지 없이 스트리밍 (응답을 메모리에 모으지 않음)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.exportStores(fields));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Store> getStoreById(@PathVariable Long id) {
-        Store store = service.getStoreById(id);
+    public ResponseEntity<?> getStoreById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        PreparedBody store = catalogSnapshotService.store(id);
         if (store == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(store);
+        return store.toResponse(acceptEncoding);
     }
 }
@@ -1,10 +1,14 @@
 package hackerton.seosancheck.mapper.place;
 
+import hackerton.seosancheck.common.geo.GeoUtils;
 import hackerton.seosancheck.model.place.Store;
 import hackerton.seosancheck.model.place.TouristPlace;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface StoreMapper {
@@ -24,6 +28,23 @@ public interface StoreMapper {
             "location, type, longitude, latitude, kind_store AS kindStore, tag FROM store")
     List<Store> selectAll();
 
+    // keyset 페이지 (columns 는 FieldProjection 이 허용 목록으로 만든 값만)
+    @Select({
+            "<script>",
+            "SELECT ${columns} FROM store",
+            "<if test='after != null'>WHERE id &gt; #{after}</if>",
+            "ORDER BY id LIMIT #{limit}",
+            "</script>"
+    })
+    List<Map<String, Object>> selectPage(@Param("columns") String columns,
+                                         @Param("after") Long after,
+                                         @Param("limit") int limit);
+
+    // export 용 스트리밍 조회 (트랜잭션 안에서 fetchSize 단위로 가져옴)
+    @Select("SELECT ${columns} FROM store ORDER BY id")
+    @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<Map<String, Object>> streamAll(@Param("columns") String columns);
+
     // 특정 id로 조회
     @Select("SELECT id, name, address, detail_address AS detailAddress, " +
             "location, type, longitude, latitude, kind_store AS kindStore, tag FROM store WHERE id = #{id}")
@@ -33,30 +54,92 @@ public interface StoreMapper {
     @Delete("DELETE FROM store")
     int deleteAll();
 
+    // 데이터 버전 (교체·삭제 때마다 바뀜: 새 행은 항상 더 큰 id 를 받음). 다른 인스턴스의 import 감지용
+    @Select("SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(id), 0)) FROM store")
+    String selectVersion();
+
+    // ===== import 용 staging 테이블 =====
+    // table 은 import 작업마다 만든 이름 (인스턴스가 여러 대여도 서로의 staging 을 건드리지 않음)
+    @Update("DROP TABLE IF EXISTS ${table}")
+    void dropStaging(@Param("table") String table);
+
+    @Update("CREATE UNLOGGED TABLE ${table} AS " +
+            "SELECT name, address, detail_address, location, type, longitude, latitude, kind_store, tag " +
+            "FROM store WITH NO DATA")
+    void createStaging(@Param("table") String table);
+
+    @Insert({
+            "<script>",
+            "INSERT INTO ${table} (name, address, detail_address, location, type, longitude, latitude, kind_store, tag) VALUES",
+            "<foreach collection='list' item='store' separator=','>",
+            "(#{store.name}, #{store.address}, #{store.detailAddress}, #{store.location}, #{store.type}, #{store.longitude}, #{store.latitude}, #{store.kindStore}, #{store.tag})",
+            "</foreach>",
+            "</script>"
+    })
+    int batchInsertStaging(@Param("table") String table, @Param("list") List<Store> stores);
+
+    // staging → 운영 테이블 복사 (deleteAll 과 같은 트랜잭션에서 호출)
+    @Insert("INSERT INTO store (name, address, detail_address, location, type, longitude, latitude, kind_store, tag) " +
+            "SELECT name, address, detail_address, location, type, longitude, latitude, kind_store, tag FROM ${table}")
+    int copyFromStaging(@Param("table") String table);
+
+    // 교체 트랜잭션끼리 직렬화 (트랜잭션이 끝나면 자동 해제). 동시에 교체하면 서로의 행을 못 지워 중복이 남는다
+    @Select("SELECT 1 FROM pg_advisory_xact_lock(hashtext('store_import'))")
+    Integer lockForSwap();
+
+    // 좌표 인덱스 컬럼/인덱스 존재 여부 (ALTER 는 컬럼이 있어도 ACCESS EXCLUSIVE lock 을 잡으므로 먼저 확인)
+    @Select("SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = 'store' AND column_name = 'geo')")
+    boolean hasGeoColumn();
+
+    @Select("SELECT EXISTS (SELECT 1 FROM pg_indexes " +
+            "WHERE schemaname = current_schema() AND tablename = 'store' AND indexname = 'idx_store_geo')")
+    boolean hasGeoIndex();
+
+    // 좌표 인덱스 컬럼 (GeoSchemaMigration 이 없을 때만 한 번 추가)
+    @Update("ALTER TABLE store ADD COLUMN IF NOT EXISTS geo point " +
+            "GENERATED ALWAYS AS (point(longitude, latitude)) STORED")
+    void addGeoColumn();
+
+    @Update("CREATE INDEX IF NOT EXISTS idx_store_geo ON store USING gist (geo)")
+    void createGeoIndex();
+
     //PostgreSQL
-    // 식당 근처 조회
+    // 식당 근처 조회 (GiST bounding box 로 먼저 거르고 실제 거리순 정렬)
     @Select("""
     SELECT *
     FROM (
         SELECT id, name, address, detail_address AS detailAddress,
                location, type, longitude, latitude, kind_store AS kindStore, tag,
-               (6371 * acos(
+               (6371 * acos(LEAST(1.0,
                    cos(radians(#{lat})) * cos(radians(latitude)) *
                    cos(radians(longitude) - radians(#{lon})) +
                    sin(radians(#{lat})) * sin(radians(latitude))
-               )) AS distance
+               ))) AS distance
         FROM store
-        WHERE (tag ILIKE '%식%' OR tag ILIKE '%집%' OR tag ILIKE '%해산물%')
+        WHERE geo <@ box(point(#{minLon}, #{minLat}), point(#{maxLon}, #{maxLat}))
+          AND (tag ILIKE '%식%' OR tag ILIKE '%집%' OR tag ILIKE '%해산물%')
     ) sub
     WHERE sub.distance < #{radiusKm}
     ORDER BY sub.distance ASC
     LIMIT #{limit}
     """)
-    List<Store> findNearbyStores(
+    List<Store> findNearbyStoresInBox(
             @Param("lat") double latitude,
             @Param("lon") double longitude,
+            @Param("minLat") double minLat,
+            @Param("minLon") double minLon,
+            @Param("maxLat") double maxLat,
+            @Param("maxLon") double maxLon,
             @Param("radiusKm") double radiusKm,
             @Param("limit") int limit);
 
+    default List<Store> findNearbyStoresIndexed(double latitude, double longitude, double radiusKm, int limit) {
+        double dLat = GeoUtils.latDelta(radiusKm);
+        double dLon = GeoUtils.lonDelta(latitude, radiusKm);
+        return findNearbyStoresInBox(latitude, longitude,
+                latitude - dLat, longitude - dLon, latitude + dLat, longitude + dLon,
+                radiusKm, limit);
+    }
 
 }
@@ -1,9 +1,13 @@
 package hackerton.seosancheck.mapper.place;
 
+import hackerton.seosancheck.common.geo.GeoUtils;
 import hackerton.seosancheck.model.place.TouristPlace;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface TouristPlaceMapper {
@@ -22,6 +26,23 @@ public interface TouristPlaceMapper {
             "area, category, image_url AS imageUrl FROM tourist_place")
     List<TouristPlace> selectAll();
 
+    // keyset 페이지 (columns 는 FieldProjection 이 허용 목록으로 만든 값만)
+    @Select({
+            "<script>",
+            "SELECT ${columns} FROM tourist_place",
+            "<if test='after != null'>WHERE id &gt; #{after}</if>",
+            "ORDER BY id LIMIT #{limit}",
+            "</script>"
+    })
+    List<Map<String, Object>> selectPage(@Param("columns") String columns,
+                                         @Param("after") Long after,
+                                         @Param("limit") int limit);
+
+    // export 용 스트리밍 조회 (트랜잭션 안에서 fetchSize 단위로 가져옴)
+    @Select("SELECT ${columns} FROM tourist_place ORDER BY id")
+    @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<Map<String, Object>> streamAll(@Param("columns") String columns);
+
     @Select("SELECT id, name, address, latitude, longitude, description, reference_date AS referenceDate, " +
             "area, category, image_url AS imageUrl,  type FROM tourist_place WHERE id = #{id}")
     TouristPlace selectById(Long id);
@@ -29,6 +50,39 @@ public interface TouristPlaceMapper {
     @Delete("DELETE FROM tourist_place")
     int deleteAll();
 
+    // 데이터 버전 (교체·삭제 때마다 바뀜: 새 행은 항상 더 큰 id 를 받음). 다른 인스턴스의 import 감지용
+    @Select("SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(id), 0)) FROM tourist_place")
+    String selectVersion();
+
+    // ===== import 용 staging 테이블 =====
+    // table 은 import 작업마다 만든 이름 (인스턴스가 여러 대여도 서로의 staging 을 건드리지 않음)
+    @Update("DROP TABLE IF EXISTS ${table}")
+    void dropStaging(@Param("table") String table);
+
+    @Update("CREATE UNLOGGED TABLE ${table} AS " +
+            "SELECT name, address, latitude, longitude, description, reference_date, area, category, image_url " +
+            "FROM tourist_place WITH NO DATA")
+    void createStaging(@Param("table") String table);
+
+    @Insert({
+            "<script>",
+            "INSERT INTO ${table} (name, address, latitude, longitude, description, reference_date, area, category, image_url) VALUES",
+            "<foreach collection='list' item='place' separator=','>",
+            "(#{place.name}, #{place.address}, #{place.latitude}, #{place.longitude}, #{place.description}, #{place.referenceDate}, #{place.area}, #{place.category}, #{place.imageUrl})",
+            "</foreach>",
+            "</script>"
+    })
+    int batchInsertStaging(@Param("table") String table, @Param("list") List<TouristPlace> places);
+
+    // staging → 운영 테이블 복사 (deleteAll 과 같은 트랜잭션에서 호출)
+    @Insert("INSERT INTO tourist_place (name, address, latitude, longitude, description, reference_date, area, category, image_url) " +
+            "SELECT name, address, latitude, longitude, description, reference_date, area, category, image_url FROM ${table}")
+    int copyFromStaging(@Param("table") String table);
+
+    // 교체 트랜잭션끼리 직렬화 (트랜잭션이 끝나면 자동 해제). 동시에 교체하면 서로의 행을 못 지워 중복이 남는다
+    @Select("SELECT 1 FROM pg_advisory_xact_lock(hashtext('tourist_place_import'))")
+    Integer lockForSwap();
+
     //PostgreSQL
 //     지역·카테고리 랜덤 n개
     @Select("""
@@ -42,29 +96,58 @@ public interface TouristPlaceMapper {
     List<TouristPlace> findRandomByArea(@Param("area") String area,
                                         @Param("limit") int limit);
 
-//    PostgreSQL
-    //관광지 근처 조회
+    // 좌표 인덱스 컬럼/인덱스 존재 여부 (ALTER 는 컬럼이 있어도 ACCESS EXCLUSIVE lock 을 잡으므로 먼저 확인)
+    @Select("SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = 'tourist_place' AND column_name = 'geo')")
+    boolean hasGeoColumn();
+
+    @Select("SELECT EXISTS (SELECT 1 FROM pg_indexes " +
+            "WHERE schemaname = current_schema() AND tablename = 'tourist_place' AND indexname = 'idx_tourist_place_geo')")
+    boolean hasGeoIndex();
+
+    // 좌표 인덱스 컬럼 (GeoSchemaMigration 이 없을 때만 한 번 추가)
+    @Update("ALTER TABLE tourist_place ADD COLUMN IF NOT EXISTS geo point " +
+            "GENERATED ALWAYS AS (point(longitude, latitude)) STORED")
+    void addGeoColumn();
+
+    @Update("CREATE INDEX IF NOT EXISTS idx_tourist_place_geo ON tourist_place USING gist (geo)")
+    void createGeoIndex();
+
+    //PostgreSQL
+    //관광지 근처 조회 (GiST bounding box 로 먼저 거르고 반경 내 랜덤)
     @Select("""
         SELECT *
         FROM (
             SELECT id, name, address, latitude, longitude, description, reference_date AS referenceDate,
                    area, category, image_url AS imageUrl,
-                   (6371 * acos(
+                   (6371 * acos(LEAST(1.0,
                        cos(radians(#{lat})) * cos(radians(latitude)) *
                        cos(radians(longitude) - radians(#{lon})) +
                        sin(radians(#{lat})) * sin(radians(latitude))
-                   )) AS distance
+                   ))) AS distance
             FROM tourist_place
+            WHERE geo <@ box(point(#{minLon}, #{minLat}), point(#{maxLon}, #{maxLat}))
         ) sub
         WHERE sub.distance < #{radiusKm}
         ORDER BY RANDOM()
         LIMIT #{limit}
         """)
-    List<TouristPlace> findNearbyPlaces(
+    List<TouristPlace> findNearbyPlacesInBox(
             @Param("lat") double latitude,
             @Param("lon") double longitude,
-            @Param("radiusKm") double radiusKm,   // km 단위
+            @Param("minLat") double minLat,
+            @Param("minLon") double minLon,
+            @Param("maxLat") double maxLat,
+            @Param("maxLon") double maxLon,
+            @Param("radiusKm") double radiusKm,
             @Param("limit") int limit);
 
+    default List<TouristPlace> findNearbyPlacesIndexed(double latitude, double longitude, double radiusKm, int limit) {
+        double dLat = GeoUtils.latDelta(radiusKm);
+        double dLon = GeoUtils.lonDelta(latitude, radiusKm);
+        return findNearbyPlacesInBox(latitude, longitude,
+                latitude - dLat, longitude - dLon, latitude + dLat, longitude + dLon,
+                radiusKm, limit);
+    }
 
 }
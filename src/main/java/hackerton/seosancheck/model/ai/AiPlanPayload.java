@@ -0,0 +1,34 @@
+package hackerton.seosancheck.model.ai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** 코스 생성 응답(structured output 스키마와 같은 모양): { "plans": [ { summary, course: [...] } ] } */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AiPlanPayload {
+    private List<Plan> plans;
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Plan {
+        private String summary;
+        private List<CourseItem> course;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CourseItem {
+        private Integer order;
+        private String ref;  // 후보 번호 (P1, S2 …), structured output 은 이것만 돌려줌
+        private String type; // 관광지 or 가게 (ref 가 없을 때만)
+        private String name;
+        private String description;
+    }
+}
@@ -0,0 +1,68 @@
+package hackerton.seosancheck.model.ai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** OpenAI chat completions 응답(일반/스트리밍 조각 공용) 중 쓰는 필드만, 나머지는 무시 */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ChatCompletion {
+    private String model;
+    private List<Choice> choices;
+    private Usage usage; // 스트리밍은 stream_options.include_usage 일 때 마지막 조각에만
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Choice {
+        private Message message; // 일반 응답
+        private Message delta;   // stream=true 조각
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Message {
+        private String content;
+        private String refusal; // structured output 에서 모델이 거절한 경우
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private Integer promptTokens;
+        @JsonProperty("completion_tokens")
+        private Integer completionTokens;
+    }
+
+    /** 첫 choice 의 message.content (없으면 null) */
+    public String firstContent() {
+        Message m = (choices == null || choices.isEmpty()) ? null : choices.get(0).getMessage();
+        return (m == null) ? null : m.getContent();
+    }
+
+    /** 첫 choice 의 message.refusal (거절이 아니면 null) */
+    public String firstRefusal() {
+        Message m = (choices == null || choices.isEmpty()) ? null : choices.get(0).getMessage();
+        return (m == null) ? null : m.getRefusal();
+    }
+
+    /** 첫 choice 의 delta.refusal (스트리밍 거절 조각, 없으면 null) */
+    public String firstDeltaRefusal() {
+        Message m = (choices == null || choices.isEmpty()) ? null : choices.get(0).getDelta();
+        return (m == null) ? null : m.getRefusal();
+    }
+
+    /** 첫 choice 의 delta.content (없으면 null) */
+    public String firstDelta() {
+        Message m = (choices == null || choices.isEmpty()) ? null : choices.get(0).getDelta();
+        return (m == null) ? null : m.getContent();
+    }
+}
@@ -18,4 +18,10 @@ public class TravelItem {
     private Double longitude;
     private String imageUrl; // 관광지만 있을 수 있음
     private String tag;
+    private Double legDistanceKm; // 이전 장소에서 오는 직선거리(km), 첫 장소는 null
+
+    public TravelItem(int order, long id, String type, String name, String description, String address,
+                      Double latitude, Double longitude, String imageUrl, String tag) {
+        this(order, id, type, name, description, address, latitude, longitude, imageUrl, tag, null);
+    }
 }
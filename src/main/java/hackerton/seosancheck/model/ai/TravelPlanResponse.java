@@ -14,4 +14,9 @@ import java.util.List;
 public class TravelPlanResponse {
     private String summary;
     private List<TravelItem> course;
+    private Double totalDistanceKm; // 구간 거리 합(km), 좌표 없는 구간은 제외
+
+    public TravelPlanResponse(String summary, List<TravelItem> course) {
+        this(summary, course, null);
+    }
 }
@@ -0,0 +1,16 @@
+package hackerton.seosancheck.model.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** keyset 페이지: 다음 페이지는 ?after={nextCursor} 로 요청, 마지막 페이지면 nextCursor = null */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+}
@@ -0,0 +1,79 @@
+package hackerton.seosancheck.model.importjob;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 비동기 엑셀 import 작업의 진행 상황 (GET /api/import-jobs/{id} 응답) */
+public class ImportJob {
+
+    public enum Status { RUNNING, SUCCEEDED, FAILED }
+
+    private static final int MAX_ERROR_MESSAGES = 20;
+
+    @Getter private final String id;
+    @Getter private final String target;       // store, tourist-place
+    @Getter private final Instant startedAt;
+    @Getter private volatile Instant finishedAt;
+    @Getter private volatile Status status = Status.RUNNING;
+    @Getter private final List<String> errors = new CopyOnWriteArrayList<>(); // 앞쪽 일부 메시지만 보관
+
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    public ImportJob(String id, String target) {
+        this.id = id;
+        this.target = target;
+        this.startedAt = Instant.now();
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public double getRowsPerSecond() {
+        Instant end = (finishedAt != null) ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return rowsInserted.get() * 1000.0 / millis;
+    }
+
+    // ===== 작업 스레드에서만 호출 =====
+
+    public void addParsed() {
+        rowsParsed.incrementAndGet();
+    }
+
+    public void addInserted(int count) {
+        rowsInserted.addAndGet(count);
+    }
+
+    public void recordError(String message) {
+        if (errorCount.incrementAndGet() <= MAX_ERROR_MESSAGES) {
+            errors.add(message);
+        }
+    }
+
+    public void succeed() {
+        finishedAt = Instant.now();
+        status = Status.SUCCEEDED;
+    }
+
+    public void fail(String message) {
+        recordError(message);
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+}
@@ -4,6 +4,8 @@ import hackerton.seosancheck.model.ai.TravelConditions;
 import hackerton.seosancheck.model.ai.TravelPlanResponse;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface AiService {
 
@@ -11,4 +13,17 @@ public interface AiService {
     TravelConditions extractConditions(String sentence);
 
     List<TravelPlanResponse> generateMultiplePlans(String text, String areaParam);
+
+    /** seed 가 있으면 같은 카탈로그에서 시작점/후보가 고정되어 같은 요청을 재현·캐시할 수 있다 */
+    List<TravelPlanResponse> generateMultiplePlans(String text, String areaParam, Long seed);
+
+    /** 정해진 조건으로 바로 생성 (코스 풀 갱신용), 대체 코스가 섞이면 null */
+    List<TravelPlanResponse> generatePlansFor(TravelConditions conditions);
+
+    /** 가상 스레드에서 생성, 돌려준 future 를 cancel 하면 진행 중인 작업까지 interrupt 한다 */
+    CompletableFuture<List<TravelPlanResponse>> generateMultiplePlansAsync(String text, String areaParam, Long seed);
+
+    /** 코스가 하나 완성될 때마다 onPlan 으로 넘기고, 넘긴 코스 전체로 future 를 완료한다 (cancel 은 위와 같음) */
+    CompletableFuture<List<TravelPlanResponse>> streamMultiplePlans(String text, String areaParam, Long seed,
+                                                                   Consumer<TravelPlanResponse> onPlan);
 }
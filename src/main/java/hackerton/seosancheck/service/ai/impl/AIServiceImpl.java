@@ -1,68 +1,105 @@
 package hackerton.seosancheck.service.ai.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import hackerton.seosancheck.mapper.place.StoreMapper;
-import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import hackerton.seosancheck.model.ai.AiPlanPayload;
+import hackerton.seosancheck.model.ai.ChatCompletion;
 import hackerton.seosancheck.model.ai.TravelConditions;
-import hackerton.seosancheck.model.ai.TravelItem;
 import hackerton.seosancheck.model.ai.TravelPlanResponse;
 import hackerton.seosancheck.model.place.Store;
 import hackerton.seosancheck.model.place.TouristPlace;
 import hackerton.seosancheck.service.ai.AiService;
+import hackerton.seosancheck.service.ai.support.CourseAssembler;
+import hackerton.seosancheck.service.ai.support.ConditionMatcher;
+import hackerton.seosancheck.service.ai.support.LocalCoursePlanner;
+import hackerton.seosancheck.service.ai.support.OpenAiCircuitBreaker;
+import hackerton.seosancheck.service.ai.support.OpenAiClient;
+import hackerton.seosancheck.service.ai.support.OpenAiConcurrencyLimiter;
+import hackerton.seosancheck.service.ai.support.PlanMetrics;
+import hackerton.seosancheck.service.ai.support.PlanPayloadReader;
+import hackerton.seosancheck.service.ai.support.PlanStreamParser;
+import hackerton.seosancheck.service.ai.support.PromptCompiler;
+import hackerton.seosancheck.service.ai.support.RouteOptimizer;
+import hackerton.seosancheck.service.ai.support.SingleFlight;
+import hackerton.seosancheck.service.ai.support.StageScope;
+import hackerton.seosancheck.service.ai.support.ThemeClassifier;
+import hackerton.seosancheck.service.ai.support.TravelPlanCache;
+import hackerton.seosancheck.service.ai.support.TravelPlanPool;
+import hackerton.seosancheck.service.place.PlaceIndexService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.regex.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AIServiceImpl implements AiService {
 
-    private final StoreMapper storeMapper;
-    private final TouristPlaceMapper touristPlaceMapper;
-    private final RestTemplate restTemplate;
+    private final PlaceIndexService placeIndexService;
+    private final OpenAiClient openAiClient;
+    private final TravelPlanCache travelPlanCache;
+    private final TravelPlanPool travelPlanPool;
+    private final ThemeClassifier themeClassifier;
+    private final MeterRegistry meterRegistry;
+    private final PromptCompiler promptCompiler;
+    private final PlanMetrics planMetrics;
 
-    @Value("${openai.api-key}")
-    private String apiKey;
+    // 코스 생성/스트리밍과 그 하위 단계는 가상 스레드에서 (OpenAI 대기 중에도 carrier 스레드를 점유하지 않음)
+    private final ExecutorService aiExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    private static final String API_URL = "https://api.openai.com/v1/chat/completions";
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // 정규화된 조건 → 진행 중인 코스 생성
+    private SingleFlight<String, PlanResult> planFlights;
 
-    // ====== 조건 추출용 키워드/정규식 ======
+    @Value("${ai.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
+
+    // 조건 추출부터 OpenAI 응답까지 한 요청에 쓰는 시간, 넘기면 받은 데까지 + 로컬 코스로 응답
+    @Value("${ai.plan.budget-ms:15000}")
+    private long planBudgetMs;
+
+    // ====== 조건 추출용 키워드 ======
     private static final Map<String, String> AREA_MAP = Map.ofEntries(
             Map.entry("바다", "바다"), Map.entry("바닷가", "바다"), Map.entry("해변", "바다"), Map.entry("바다가 보이는", "바다"),
             Map.entry("내륙", "내륙"), Map.entry("산", "내륙"), Map.entry("계곡", "내륙"), Map.entry("숲", "내륙"), Map.entry("도시", "내륙")
     );
 
-    // (참고) 여기엔 순수 '테마'만 두는 게 깔끔하지만, 기존 값을 유지하되 정규식 쪽을 우선 사용.
-    private static final Set<String> THEME_KEYWORDS = Set.of(
-            "감성", "감성적", "감성적인", "힐링", "먹방", "인생샷",
-            "역사", "문화", "생태", "자연", "체험",
-            "로맨틱", "포토스팟", "바쁜", "정신없는"
+    // 지역 키워드를 품고 있지만 지역 뜻이 아닌 단어 ("서산"의 '산', "해산물"의 '산' 등)
+    private static final List<String> AREA_STOP_WORDS = List.of(
+            "서산", "해산물", "산책", "산업", "도시락"
     );
 
-    // 변형 단어 대응
-    private static final Map<String, Pattern> THEME_PATTERNS = Map.ofEntries(
-            Map.entry("감성적인", Pattern.compile("감성.*")),
-            Map.entry("힐링", Pattern.compile("힐링.*")),
-            Map.entry("먹방", Pattern.compile("먹방.*")),
-            Map.entry("인생샷", Pattern.compile("인생샷.*")),
-            Map.entry("역사", Pattern.compile("역사.*")),
-            Map.entry("문화", Pattern.compile("문화.*")),
-            Map.entry("생태", Pattern.compile("생태.*")),
-            Map.entry("자연", Pattern.compile("자연.*")),
-            Map.entry("체험", Pattern.compile("체험.*")),
-            Map.entry("로맨틱", Pattern.compile("로맨틱.*")),
-            Map.entry("포토스팟", Pattern.compile("포토스팟.*")),
-            Map.entry("바쁜", Pattern.compile("바쁜.*")),
-            Map.entry("정신없는", Pattern.compile("정신없.*")) // "정신없이" 포함
+    // 변형 단어 대응: 어간 → 대표 테마 ("감성적인", "정신없이" 등은 어간으로 잡힌다)
+    private static final Map<String, String> THEME_STEMS = Map.ofEntries(
+            Map.entry("감성", "감성적인"),
+            Map.entry("힐링", "힐링"),
+            Map.entry("먹방", "먹방"),
+            Map.entry("인생샷", "인생샷"),
+            Map.entry("역사", "역사"),
+            Map.entry("문화", "문화"),
+            Map.entry("생태", "생태"),
+            Map.entry("자연", "자연"),
+            Map.entry("체험", "체험"),
+            Map.entry("로맨틱", "로맨틱"),
+            Map.entry("포토스팟", "포토스팟"),
+            Map.entry("바쁜", "바쁜"),
+            Map.entry("정신없", "정신없는")
     );
 
     private static final List<String> COMPANION_KEYWORDS = List.of(
@@ -70,438 +107,485 @@ public class AIServiceImpl implements AiService {
             "가족", "친구", "연인", "커플", "아이", "혼자", "솔로", "이모", "고모", "할머니", "할아버지"
     );
 
-    private static final Pattern COMPANION_PATTERN =
-            Pattern.compile("([가-힣]+)(랑|과|와|하고)");
+    // "N박M일" 은 매처가 숫자로 직접 처리
+    private static final Map<String, String> DURATION_KEYWORDS = Map.of(
+            "당일치기", "당일치기", "당일", "당일치기", "하루", "하루", "주말", "주말"
+    );
 
-    private static final Pattern DURATION_PATTERN =
-            Pattern.compile("(\\d+)박\\s*(\\d+)일|당일치기|당일|하루|주말|1박2일|2박3일|3박4일");
+    private static final ConditionMatcher CONDITION_MATCHER = buildConditionMatcher();
 
-    /** 테마 추출 (빠른 contains → 정규식 → AI fallback) */
-    private String extractTheme(String normalized, String originalSentence) {
-        for (Map.Entry<String, Pattern> entry : THEME_PATTERNS.entrySet()) {
-            if (entry.getValue().matcher(normalized).find()) {
-                return entry.getKey();
-            }
+    private static ConditionMatcher buildConditionMatcher() {
+        ConditionMatcher.Builder builder = ConditionMatcher.builder()
+                .addAll(ConditionMatcher.Kind.AREA, AREA_MAP)
+                .addAll(ConditionMatcher.Kind.THEME, THEME_STEMS)
+                .addAll(ConditionMatcher.Kind.DURATION, DURATION_KEYWORDS);
+        COMPANION_KEYWORDS.forEach(k -> builder.add(ConditionMatcher.Kind.COMPANION, k, k));
+        AREA_STOP_WORDS.forEach(k -> builder.add(ConditionMatcher.Kind.STOP, k, k));
+        return builder.build();
+    }
+
+    /** 사용자 문장에서 조건 추출 (키워드는 한 번의 순회로, 테마가 없을 때만 분류기/AI) */
+    public TravelConditions extractConditions(String sentence) {
+        String text = (sentence == null) ? "" : sentence;
+        ConditionMatcher.Result matched = CONDITION_MATCHER.match(text);
+
+        String theme = (matched.theme() != null) ? matched.theme() : classifyTheme(text);
+        return TravelConditions.builder()
+                .companion(matched.companion())
+                .theme(theme)
+                .duration((matched.duration() != null) ? matched.duration() : "당일치기")
+                .area(matched.area())
+                .build();
+    }
+
+    private String classifyTheme(String text) {
+        return themeClassifier.classify(text, () -> requestThemeFromAi(text));
+    }
+
+    /**
+     * AI 에 테마 분류 요청 (ThemeClassifier 가 캐시/로컬 모델로 못 맞출 때만 호출).
+     * 실패는 예외로 그대로 올려 ThemeClassifier 가 '테마 없음' 답변과 구분하게 한다 (무응답이면 null)
+     */
+    private String requestThemeFromAi(String originalSentence) {
+        // AI fallback (후보에서 '위험한' 제거)
+        String prompt = "다음 문장에서 여행 테마를 추출하세요. " +
+                "아래 리스트 중 가장 가까운 하나만 골라서 정확히 출력하세요. " +
+                "문장에 같은 의미의 변형(예: '정신없이' → '정신없는', '바쁘게' → '바쁜')이 있으면 대응되는 대표 키워드로 통일하세요.\n" +
+                "[감성적인, 힐링, 먹방, 인생샷, 역사, 문화, 생태, 자연, 체험, 로맨틱, 포토스팟, 바쁜, 정신없는]\n" +
+                "문장: " + originalSentence;
+
+        Map<String, Object> requestBody = Map.of(
+                "model", "gpt-4o-mini",
+                "messages", List.of(
+                        Map.of("role", "system", "content", "당신은 분류기입니다."),
+                        Map.of("role", "user", "content", prompt)
+                ),
+                "temperature", 0.2
+        );
+
+        ChatCompletion completion = openAiClient.chatCompletion(requestBody);
+        String aiTheme = (completion == null) ? null : completion.firstContent();
+        return (aiTheme == null) ? null : aiTheme.trim();
+    }
+
+    @Override
+    public List<TravelPlanResponse> generateMultiplePlans(String text, String areaParam) {
+        return generateMultiplePlans(text, areaParam, null);
+    }
+
+    @Override
+    public List<TravelPlanResponse> generateMultiplePlans(String text, String areaParam, Long seed) {
+        Timer.Sample request = planMetrics.start();
+        PlanLookup lookup = lookup(text, areaParam, seed);
+        if (lookup.ready() != null) {
+            planMetrics.request(request, lookup.ready().source(), lookup.ready().conditions(), false);
+            return lookup.ready().plans();
         }
-        for (String keyword : THEME_KEYWORDS) {
-            if (normalized.contains(keyword)) {
-                if (keyword.startsWith("감성")) return "감성적인";
-                return keyword;
-            }
+        PlanContext ctx = lookup.ctx();
+        if (ctx == null) {
+            planMetrics.request(request, "empty", null, false);
+            return List.of();
         }
 
-        // AI fallback (후보에서 '위험한' 제거)
-        try {
-            String prompt = "다음 문장에서 여행 테마를 추출하세요. " +
-                    "아래 리스트 중 가장 가까운 하나만 골라서 정확히 출력하세요. " +
-                    "문장에 같은 의미의 변형(예: '정신없이' → '정신없는', '바쁘게' → '바쁜')이 있으면 대응되는 대표 키워드로 통일하세요.\n" +
-                    "[감성적인, 힐링, 먹방, 인생샷, 역사, 문화, 생태, 자연, 체험, 로맨틱, 포토스팟, 바쁜, 정신없는]\n" +
-                    "문장: " + originalSentence;
-
-            Map<String, Object> requestBody = Map.of(
-                    "model", "gpt-4o-mini",
-                    "messages", List.of(
-                            Map.of("role", "system", "content", "당신은 분류기입니다."),
-                            Map.of("role", "user", "content", prompt)
-                    ),
-                    "temperature", 0.2
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<String> response =
-                    restTemplate.exchange(API_URL, HttpMethod.POST, entity, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> root = MAPPER.readValue(response.getBody(), Map.class);
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) root.get("choices");
-                if (choices != null && !choices.isEmpty()) {
-                    Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    String aiTheme = (String) message.get("content");
-                    if (aiTheme != null) return aiTheme.trim();
-                }
-            }
-        } catch (Exception e) {
-            log.warn("테마 추론 실패, fallback 사용", e);
+        // 같은 캐시 키로 이미 진행 중인 GPT 호출이 있으면 그 결과를 같이 받음 (seed 가 다르면 따로 생성)
+        PlanResult result = planFlights.execute(ctx.cacheKey(),
+                () -> generateAndCache(ctx));
+        planMetrics.request(request, "generated", ctx.conditions(), result.degraded());
+        return result.plans();
+    }
+
+    /** 풀·캐시에서 바로 줄 코스(ready) 또는 생성에 쓸 컨텍스트(ctx), 후보가 없으면 둘 다 null */
+    private record PlanLookup(ReadyPlans ready, PlanContext ctx) {
+    }
+
+    /**
+     * 일반/스트리밍 요청 공통 앞단.
+     * 테마까지 키워드로 정해지면 후보 조회(DB/인덱스) 전에 풀·캐시부터 확인하고, 없을 때만 컨텍스트를 준비한다.
+     * 테마를 분류기로 정한 경우는 조건이 컨텍스트 준비 뒤에야 나오므로 그때 확인
+     */
+    private PlanLookup lookup(String text, String areaParam, Long seed) {
+        String sentence = (text == null) ? "" : text;
+        ConditionMatcher.Result matched = CONDITION_MATCHER.match(sentence);
+        if (matched.theme() != null) {
+            ReadyPlans ready = readyPlans(effectiveConditions(matched, matched.theme(), areaParam), seed);
+            if (ready != null) return new PlanLookup(ready, null);
         }
-        return null;
+
+        PlanContext ctx = preparePlanContext(sentence, matched, areaParam, seed);
+        if (ctx == null) return new PlanLookup(null, null);
+
+        if (matched.theme() == null) {
+            ReadyPlans ready = readyPlans(ctx.conditions(), seed);
+            if (ready != null) return new PlanLookup(ready, null);
+        }
+        return new PlanLookup(null, ctx);
     }
 
-    /** 사용자 문장에서 조건 추출 */
-    public TravelConditions extractConditions(String sentence) {
-        if (sentence == null) sentence = "";
-        String normalized = sentence.replaceAll("\\s+", " ").trim();
-
-        // 1) 동행자
-        String companion = COMPANION_KEYWORDS.stream()
-                .filter(normalized::contains)
-                .findFirst()
-                .orElse(null);
-        if (companion == null) {
-            Matcher matcher = COMPANION_PATTERN.matcher(normalized);
-            if (matcher.find()) companion = matcher.group(1);
+    /** 생성 없이 바로 줄 수 있는 코스와 그 출처 (pool|cache) */
+    private record ReadyPlans(List<TravelPlanResponse> plans, String source, TravelConditions conditions) {
+    }
+
+    /**
+     * 미리 만들어 둔 코스 → 같은 조건(seed 요청은 같은 seed)으로 캐시된 코스 순으로 찾음 (없으면 null).
+     * 캐시 키는 조건과 seed 뿐이라 후보 조회 없이 확인할 수 있다. seed 요청은 재현을 위해 풀을 쓰지 않음
+     */
+    private ReadyPlans readyPlans(TravelConditions conditions, Long seed) {
+        if (seed == null) {
+            List<TravelPlanResponse> pooled = travelPlanPool.take(conditions);
+            if (pooled != null) return new ReadyPlans(pooled, "pool", conditions);
         }
+        List<TravelPlanResponse> cached = travelPlanCache.get(TravelPlanCache.key(conditions, seed));
+        return (cached == null) ? null : new ReadyPlans(cached, "cache", conditions);
+    }
 
-        // 2) 기간
-        String duration = null;
-        String noSpace = normalized.replace(" ", "");
-        Matcher m = DURATION_PATTERN.matcher(noSpace);
-        if (m.find()) {
-            duration = m.group();
-            if ("당일".equals(duration)) duration = "당일치기";
-            if (duration.matches("\\d+박\\d+일")) {
-                duration = duration.replace("박", "박 ").replace("일", "일");
-            }
+    @Override
+    public List<TravelPlanResponse> generatePlansFor(TravelConditions conditions) {
+        PlanContext ctx;
+        try (StageScope scope = new StageScope(aiExecutor)) {
+            Candidates candidates = findCandidates(scope, conditions.getArea(), null);
+            if (candidates == null) return null;
+            // 미리 채우기는 응답을 기다리는 사용자가 없으니 요청 타임아웃까지 기다림
+            ctx = PlanContext.of(conditions, candidates, null, deadlineAfter(requestTimeoutMs));
         }
-        if (duration == null) duration = "당일치기";
-
-        // 3) 지역
-        String area = null;
-        for (Map.Entry<String, String> e : AREA_MAP.entrySet()) {
-            if (normalized.contains(e.getKey())) {
-                area = e.getValue();
-                break;
-            }
+        PlanResult result = generateAndCache(ctx);
+        return result.degraded() ? null : result.plans();
+    }
+
+    // GPT 호출 (대체 코스가 섞인 결과는 캐시하지 않음)
+    private PlanResult generateAndCache(PlanContext ctx) {
+        PlanResult result = callOpenAiAndParsePlans(compilePrompt(ctx), ctx);
+        if (!result.degraded()) {
+            travelPlanCache.put(ctx.cacheKey(), result.plans());
         }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<List<TravelPlanResponse>> generateMultiplePlansAsync(String text, String areaParam, Long seed) {
+        return submit(() -> generateMultiplePlans(text, areaParam, seed));
+    }
+
+    @Override
+    public CompletableFuture<List<TravelPlanResponse>> streamMultiplePlans(String text, String areaParam, Long seed,
+                                                                          Consumer<TravelPlanResponse> onPlan) {
+        return submit(() -> streamPlans(text, areaParam, seed, onPlan));
+    }
+
+    // 가상 스레드에서 실행, 호출 쪽이 cancel 하면 진행 중인 DB/OpenAI 호출까지 interrupt
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = aiExecutor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((plans, e) -> {
+            if (result.isCancelled()) task.cancel(true);
+        });
+        return result;
+    }
+
+    @PostConstruct
+    public void init() {
+        planFlights = new SingleFlight<>("ai.plan", aiExecutor, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        aiExecutor.shutdownNow();
+    }
 
-        // 4) 테마
-        String theme = extractTheme(normalized, sentence);
+    /**
+     * 조건 추출 → 시작점 → 근처 후보까지 (후보가 없으면 null).
+     * 키워드로 테마를 못 찾으면 분류기/AI 호출을 DB 조회와 동시에 진행한다.
+     */
+    private PlanContext preparePlanContext(String sentence, ConditionMatcher.Result matched,
+                                           String areaParam, Long seed) {
+        long deadline = deadlineAfter(planBudgetMs);
+        try (StageScope scope = new StageScope(aiExecutor)) {
+            // 1) 조건 추출 (지역/동행/기간은 키워드로 바로, 테마는 필요하면 백그라운드로)
+            String areaForAI = (matched.area() != null) ? matched.area() : areaParam;
+            Future<String> themeStage = (matched.theme() != null)
+                    ? CompletableFuture.completedFuture(matched.theme())
+                    : scope.fork(() -> planMetrics.stage("conditions", areaForAI, () -> classifyTheme(sentence)));
+
+            // 2) DB 조회 (프롬프트와 일관된 지역 사용)
+            Candidates candidates = planMetrics.stage("candidates", areaForAI,
+                    () -> findCandidates(scope, areaForAI, seed));
+            if (candidates == null) return null;
+
+            // 테마 추론이 예산을 넘기면 테마 미정으로 진행
+            TravelConditions effective =
+                    effectiveConditions(matched, scope.joinUntil(themeStage, deadline, null), areaParam);
+            return PlanContext.of(effective, candidates, seed, deadline);
+        }
+    }
 
+    /** 프롬프트/캐시/풀에 쓰는 조건 (빈 값은 기본값으로) */
+    private static TravelConditions effectiveConditions(ConditionMatcher.Result matched, String theme, String areaParam) {
         return TravelConditions.builder()
-                .companion(companion)
+                .area((matched.area() != null) ? matched.area() : areaParam)
                 .theme(theme)
-                .duration(duration)
-                .area(area)
+                .companion((matched.companion() != null) ? matched.companion() : "미정")
+                .duration((matched.duration() != null) ? matched.duration() : "당일치기")
                 .build();
     }
 
-    @Override
-    public List<TravelPlanResponse> generateMultiplePlans(String text, String areaParam) {
-        // 1) 조건 추출
-        TravelConditions cond = extractConditions(text);
-        String areaForAI = (cond.getArea() != null) ? cond.getArea() : areaParam;
-        String companionForAI = (cond.getCompanion() != null) ? cond.getCompanion() : "미정";
-        String durationForAI = (cond.getDuration() != null) ? cond.getDuration() : "당일치기";
-        String themeForAI = cond.getTheme(); // ✅ 중복 호출 제거
-
+    /** 지역에서 시작점을 뽑고 근처 관광지/가게 후보를 동시에 조회 (없으면 null, seed 가 같으면 같은 후보) */
+    private Candidates findCandidates(StageScope scope, String area, Long seed) {
         int limit = 15;
 
-        // 2) DB 조회 (프롬프트와 일관된 지역 사용)
-        String areaForDB = (areaForAI != null) ? areaForAI : areaParam;
-
-        List<TouristPlace> startList = touristPlaceMapper.findRandomByArea(areaForDB, 1);
-        if (startList == null || startList.isEmpty()) {
-            log.warn("해당 지역에서 시작점을 찾지 못했습니다. area={}", areaForDB);
-            return List.of();
+        TouristPlace start = placeIndexService.pickRandomPlace(area, seed);
+        if (start == null) {
+            log.warn("해당 지역에서 시작점을 찾지 못했습니다. area={}", area);
+            return null;
         }
-        TouristPlace start = startList.get(0);
 
         double centerLat = start.getLatitude();
         double centerLon = start.getLongitude();
 
-        List<TouristPlace> places = touristPlaceMapper.findNearbyPlaces(centerLat, centerLon, 5, limit);
-        List<Store> stores = storeMapper.findNearbyStores(centerLat, centerLon, 5, limit);
+        // 근처 후보는 메모리 공간 인덱스에서 조회 (테이블 크기와 무관, 인덱스 로딩 전엔 DB)
+        Future<List<TouristPlace>> placesStage =
+                scope.fork(() -> placeIndexService.findNearbyPlaces(centerLat, centerLon, 5, limit, seed));
+        List<Store> stores = placeIndexService.findNearbyStores(centerLat, centerLon, 5, limit);
+        List<TouristPlace> places = scope.join(placesStage);
 
         if ((places == null || places.isEmpty()) && (stores == null || stores.isEmpty())) {
-            log.warn("places/stores 모두 비어있음. area={}", areaForDB);
-            return List.of();
+            log.warn("places/stores 모두 비어있음. area={}", area);
+            return null;
         }
-        if (places == null) places = List.of();
-        if (stores == null) stores = List.of();
-
-        // 3) GPT 프롬프트
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("당신은 서산 여행 코디네이터입니다.\n")
-                .append("다음 조건을 참고하여 서로 다른 3개의 여행 코스를 만들어주세요.\n")
-                .append("- 지역: ").append(areaForAI == null ? "미정" : areaForAI).append("\n")
-                .append("- 테마: ").append(themeForAI == null ? "미정" : themeForAI).append("\n")
-                .append("- 동행: ").append(companionForAI).append("\n")
-                .append("- 기간: ").append(durationForAI).append("\n\n")
-                .append("규칙:\n")
-                .append("1) 각 코스는 정확히 5개의 '장소'로만 구성합니다.\n")
-                .append("2) 순서는 반드시: 관광지 → 가게(식당) → 관광지 → 관광지 → 가게(식당).\n")
-                .append("3) 'type' 값은 오직 \"관광지\" 또는 \"가게\"만 사용합니다.\n")
-                .append("4) 목록에 없는 장소는 사용하지 마세요. 모자라면 목록에서 중복 선택해서라도 반드시 5개를 채우세요.\n")
-                .append("5) 각 항목은 name, type(관광지/가게), description(30자 이상), order를 포함합니다.\n")
-                .append("6) JSON만 출력하세요. 마크다운 코드블록(```), 추가 설명, 접두/접미 문구 금지.\n\n")
-                .append("[관광지 후보]\n");
-        for (TouristPlace p : places) {
-            prompt.append("- ").append(p.getName())
-                    .append(" (").append(p.getArea()).append(")\n"); // ✅ 여분 콤마 제거
+        return new Candidates(
+                (places == null) ? List.of() : places,
+                (stores == null) ? List.of() : stores);
+    }
+
+    private record Candidates(List<TouristPlace> places, List<Store> stores) {
+    }
+
+    /**
+     * 프롬프트에 들어가는 조건/후보와 캐시 키, AI 응답을 후보로 되돌려 코스로 만드는 assembler,
+     * OpenAI 응답을 기다릴 수 있는 시각(deadline, System.nanoTime 기준)
+     */
+    private record PlanContext(TravelConditions conditions,
+                               List<TouristPlace> places,
+                               List<Store> stores,
+                               String cacheKey,
+                               CourseAssembler assembler,
+                               long deadline) {
+
+        static PlanContext of(TravelConditions conditions, Candidates candidates, Long seed, long deadline) {
+            List<TouristPlace> places = candidates.places();
+            List<Store> stores = candidates.stores();
+            return new PlanContext(conditions, places, stores,
+                    TravelPlanCache.key(conditions, seed),
+                    new CourseAssembler(places, stores),
+                    deadline);
         }
-        prompt.append("\n[가게 후보]\n");
-        for (Store s : stores) {
-            String tag = (s.getTag() != null && !s.getTag().isBlank()) ? s.getTag() : "일반";
-            prompt.append("- ").append(s.getName()).append(" (").append(tag).append(")\n");
+    }
+
+    private static long deadlineAfter(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * call 을 별도 가상 스레드에서 돌리고 deadline 까지만 기다림.
+     * 넘기면 interrupt 로 취소하고 TimeoutException, 현재 스레드가 취소되면 CancellationException
+     */
+    private <T> T callWithinBudget(long deadline, Callable<T> call) throws TimeoutException {
+        Future<T> future = aiExecutor.submit(call);
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("요청이 취소되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        } finally {
+            future.cancel(true); // 끝난 작업이면 아무 일 없음
         }
+    }
 
-        prompt.append("\n출력 예시:\n")
-                .append("{ \"plans\": [\n")
-                .append("  {\n")
-                .append("    \"summary\": \"코스 설명\",\n")
-                .append("    \"course\": [\n")
-                .append("      {\"order\": 1, \"type\": \"관광지\", \"name\": \"장소명\", \"description\": \"간단 설명\"}\n")
-                .append("    ]\n")
-                .append("  }\n")
-                .append("] }\n")
-                .append("description은 30자 이상으로 자세히 작성해줘, 테마와 동행을 반드시 언급해줘.\n")
-                .append("summary는 장소 특징을 담아 한 문장으로, 감성적인 문장으로 16자 내외로 작성해줘.\n");
-
-        // 4) GPT 호출
-        return callOpenAiAndParsePlans(prompt.toString(), places, stores);
+    // 3) GPT 프롬프트 (고정 규칙 + 번호로 줄인 후보, 토큰 예산 적용)
+    private PromptCompiler.CompiledPrompt compilePrompt(PlanContext ctx) {
+        return promptCompiler.compile(ctx.conditions(), ctx.places(), ctx.stores());
     }
 
-    private List<TravelPlanResponse> callOpenAiAndParsePlans(String prompt,
-                                                             List<TouristPlace> places,
-                                                             List<Store> stores) {
+    /** degraded = 3개 중 하나라도 대체 코스로 채워졌는지 */
+    private record PlanResult(List<TravelPlanResponse> plans, boolean degraded) {
+    }
+
+    private PlanResult callOpenAiAndParsePlans(PromptCompiler.CompiledPrompt prompt, PlanContext ctx) {
         List<TravelPlanResponse> results = new ArrayList<>();
+        if (!openAiClient.isAvailable()) {
+            return fillWithLocalPlans(results, ctx, "breaker");
+        }
+        String reason = "partial";
         try {
-            Map<String, Object> requestBody = Map.of(
-                    "model", "gpt-4o-mini",
-                    "messages", List.of(
-                            Map.of("role", "system", "content", "당신은 여행 코디네이터입니다."),
-                            Map.of("role", "user", "content", prompt)
-                    ),
-                    "temperature", 0.2
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<String> response =
-                    restTemplate.exchange(API_URL, HttpMethod.POST, entity, String.class);
-
-            String aiText = "";
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> root = MAPPER.readValue(response.getBody(), Map.class);
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) root.get("choices");
-                if (choices != null && !choices.isEmpty()) {
-                    Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    aiText = (String) message.get("content");
-                }
+            String area = ctx.conditions().getArea();
+            Timer.Sample openai = planMetrics.start();
+            ChatCompletion completion;
+            try {
+                completion = callWithinBudget(ctx.deadline(),
+                        () -> openAiClient.chatCompletion(prompt.requestBody(), ctx.deadline()));
+            } finally {
+                planMetrics.stop(openai, "openai", area);
             }
 
-            if (aiText != null && !aiText.isBlank()) {
-                int start = aiText.indexOf("{");
-                int end = aiText.lastIndexOf("}");
-                if (start >= 0 && end > start) {
-                    String jsonPart = aiText.substring(start, end + 1);
-                    Map<String, Object> parsed = MAPPER.readValue(jsonPart, Map.class);
-
-                    List<?> rawPlans = (List<?>) parsed.get("plans");
-                    if (rawPlans != null) {
-                        for (Object obj : rawPlans) {
-                            Map<String, Object> plan;
-                            if (obj instanceof Map) {
-                                plan = (Map<String, Object>) obj;
-                            } else if (obj instanceof String) {
-                                try {
-                                    plan = MAPPER.readValue((String) obj, Map.class);
-                                } catch (Exception e) {
-                                    log.warn("plan 문자열 파싱 실패: {}", obj);
-                                    continue;
-                                }
-                            } else {
-                                log.warn("알 수 없는 plan 형식: {}", obj);
-                                continue;
-                            }
-
-                            String summary = String.valueOf(plan.getOrDefault("summary", ""));
-                            List<?> aiCourseRaw = (List<?>) plan.get("course");
-
-                            // 코스별 중복 제거
-                            Set<String> usedInThisCourse = new HashSet<>();
-                            List<Map<String, Object>> aiCourse = new ArrayList<>();
-                            if (aiCourseRaw != null) {
-                                for (Object c : aiCourseRaw) {
-                                    Map<String, Object> m;
-                                    if (c instanceof Map) {
-                                        m = (Map<String, Object>) c;
-                                    } else if (c instanceof String) {
-                                        try {
-                                            m = MAPPER.readValue((String) c, Map.class);
-                                        } catch (Exception e) {
-                                            log.warn("course 문자열 파싱 실패: {}", c);
-                                            continue;
-                                        }
-                                    } else continue;
-
-                                    String nm = String.valueOf(m.get("name"));
-                                    if (nm == null) continue;
-                                    if (usedInThisCourse.add(nm)) aiCourse.add(m);
-                                }
-                            }
-
-                            // 매핑
-                            List<TravelItem> courseItems = mapToCourseItems(aiCourse, places, stores);
-                            // 보정: 항상 5개, 가게 2개 보장 + order 재시퀀싱
-                            courseItems = repairCourse(courseItems, places, stores);
-
-                            results.add(new TravelPlanResponse(summary, courseItems));
-                        }
-                    }
+            String content = (completion == null) ? null : completion.firstContent();
+            if (content != null && !content.isBlank()) {
+                List<AiPlanPayload.Plan> plans = new ArrayList<>();
+                Timer.Sample parse = planMetrics.start();
+                try {
+                    PlanPayloadReader.readPlans(content, plans::add);
+                } finally {
+                    planMetrics.stop(parse, "parse", area);
                 }
+                plans.forEach(plan -> results.add(toPlanResponse(plan, ctx)));
             }
+        } catch (TimeoutException e) {
+            log.warn("코스 생성 예산 초과, 로컬 코스로 대체. conditions={}", TravelPlanCache.conditionsKey(ctx.conditions()));
+            reason = "budget";
+        } catch (CancellationException e) {
+            throw e;
+        } catch (OpenAiCircuitBreaker.OpenException e) {
+            reason = "breaker";
+        } catch (OpenAiConcurrencyLimiter.RejectedException e) {
+            reason = "limiter";
+        } catch (OpenAiClient.RefusalException e) {
+            log.warn("모델이 코스 생성을 거절, 로컬 코스로 대체. conditions={}, refusal={}",
+                    TravelPlanCache.conditionsKey(ctx.conditions()), e.getMessage());
+            reason = "refusal";
         } catch (Exception e) {
             log.error("OpenAI 호출/파싱 오류", e);
+            reason = "error";
         }
 
         // 결과 개수 보정: 정확히 3개 보장
-        if (results.size() > 3) {
-            results = results.subList(0, 3);
-        } else if (results.size() < 3) {
-            while (results.size() < 3) {
-                List<TravelItem> fallback = repairCourse(List.of(), places, stores);
-                results.add(new TravelPlanResponse("근처 인기 스팟으로 구성한 대체 코스", fallback));
-            }
-        }
-        return results;
+        return fillWithLocalPlans((results.size() > 3) ? results.subList(0, 3) : results, ctx, reason);
     }
 
-    private List<TravelItem> mapToCourseItems(List<Map<String, Object>> aiCourse,
-                                              List<TouristPlace> places,
-                                              List<Store> stores) {
-        if (aiCourse == null) return List.of();
-
-        return aiCourse.stream().map(item -> {
-            try {
-                int order = 0;
-                Object orderObj = item.get("order");
-                if (orderObj instanceof Number) order = ((Number) orderObj).intValue();
-                else if (orderObj != null) order = Integer.parseInt(orderObj.toString());
-                if (order <= 0) order = 1;
-
-                String type = String.valueOf(item.get("type"));
-                if (type == null) return null;
-                if ("식당".equals(type) || "카페".equals(type)) type = "가게";
-
-                String name = String.valueOf(item.get("name"));
-                String description = String.valueOf(item.get("description"));
-
-                if ("관광지".equals(type)) {
-                    TouristPlace match = places.stream()
-                            .filter(p -> p.getName().equals(name))
-                            .findFirst().orElse(null);
-                    if (match != null) {
-                        return new TravelItem(order, match.getId(), type, name, description,
-                                match.getAddress(), match.getLatitude(), match.getLongitude(),
-                                match.getImageUrl(), null);
-                    }
-                } else if ("가게".equals(type)) {
-                    Store match = stores.stream()
-                            .filter(s -> s.getName().equals(name))
-                            .findFirst().orElse(null);
-                    if (match != null) {
-                        return new TravelItem(order, match.getId(), type, name, description,
-                                match.getAddress(), match.getLatitude(), match.getLongitude(),
-                                null, match.getTag());
-                    }
-                }
-            } catch (Exception ignore) {}
-            return null;
-        }).filter(Objects::nonNull).collect(Collectors.toList());
+    /** 3개가 안 되면 로컬 코스로 채움 (채웠으면 degraded) */
+    private PlanResult fillWithLocalPlans(List<TravelPlanResponse> results, PlanContext ctx, String reason) {
+        if (results.size() >= 3) return new PlanResult(results, false);
+        meterRegistry.counter("ai.plan.local", "reason", reason).increment();
+        List<TravelPlanResponse> filled = new ArrayList<>(results);
+        Iterator<TravelPlanResponse> local = localPlans(ctx).iterator();
+        while (filled.size() < 3 && local.hasNext()) {
+            filled.add(local.next());
+        }
+        return new PlanResult(filled, true);
     }
 
-    // ===== 보정 로직: 항상 5개, '가게' 2개 보장 + order 재시퀀싱 =====
-    private List<TravelItem> repairCourse(List<TravelItem> items,
-                                          List<TouristPlace> places,
-                                          List<Store> stores) {
-        List<TravelItem> fixed = new ArrayList<>();
-        if (items != null) fixed.addAll(items);
-
-        long storeCnt = fixed.stream().filter(i -> "가게".equals(i.getType())).count();
-
-        // 식당(가게) 선호 선택(태그 기반)
-        List<Store> restaurantCandidates = stores.stream()
-                .filter(this::isRestaurant)
-                .collect(Collectors.toList());
-
-        // 1) 가게 2개 미만이면 채우기 (식당 태그 우선)
-        Iterator<Store> itStores = restaurantCandidates.iterator();
-        while (storeCnt < 2 && itStores.hasNext()) {
-            Store s = itStores.next();
-            if (fixed.stream().anyMatch(i -> i.getName().equals(s.getName()))) continue;
-            fixed.add(toItemFromStore(fixed.size() + 1, s));
-            storeCnt++;
+    /** 스트리밍 응답에서 plan 하나가 닫힐 때마다 보정해서 바로 onPlan 으로 넘기고, 넘긴 코스 전체를 돌려준다 */
+    private List<TravelPlanResponse> streamPlans(String text, String areaParam, Long seed,
+                                                 Consumer<TravelPlanResponse> onPlan) {
+        Timer.Sample request = planMetrics.start();
+        PlanLookup lookup = lookup(text, areaParam, seed);
+        if (lookup.ready() != null) {
+            ReadyPlans ready = lookup.ready();
+            planMetrics.request(request, ready.source(), ready.conditions(), false);
+            ready.plans().forEach(onPlan);
+            return ready.plans();
         }
-        if (storeCnt < 2) {
-            itStores = stores.iterator();
-            while (storeCnt < 2 && itStores.hasNext()) {
-                Store s = itStores.next();
-                if (fixed.stream().anyMatch(i -> i.getName().equals(s.getName()))) continue;
-                fixed.add(toItemFromStore(fixed.size() + 1, s));
-                storeCnt++;
-            }
+        PlanContext ctx = lookup.ctx();
+        if (ctx == null) {
+            planMetrics.request(request, "empty", null, false);
+            return List.of();
         }
 
-        // 2) 총 5개가 될 때까지 관광지로 채우기
-        Iterator<TouristPlace> itPlaces = places.iterator();
-        while (fixed.size() < 5 && itPlaces.hasNext()) {
-            TouristPlace p = itPlaces.next();
-            if (fixed.stream().anyMatch(i -> i.getName().equals(p.getName()))) continue;
-            fixed.add(toItemFromPlace(fixed.size() + 1, p));
-        }
-        // 그래도 부족하면 가게로 채우기
-        itStores = stores.iterator();
-        while (fixed.size() < 5 && itStores.hasNext()) {
-            Store s = itStores.next();
-            if (fixed.stream().anyMatch(i -> i.getName().equals(s.getName()))) continue;
-            fixed.add(toItemFromStore(fixed.size() + 1, s));
+        // 스트림은 별도 스레드에서 읽고, 예산이 끝나면 closed 로 막은 뒤 이쪽에서 나머지를 채움
+        List<TravelPlanResponse> results = new ArrayList<>();
+        ReentrantLock lock = new ReentrantLock();
+        boolean[] closed = {false};
+        PlanStreamParser parser = new PlanStreamParser(json -> {
+            AiPlanPayload.Plan plan;
+            try {
+                plan = PlanPayloadReader.readPlan(json);
+            } catch (Exception e) {
+                log.warn("plan 스트림 파싱 실패: {}", json);
+                return;
+            }
+            TravelPlanResponse response = toPlanResponse(plan, ctx);
+            lock.lock();
+            try {
+                if (closed[0] || results.size() >= 3) return;
+                results.add(response);
+                onPlan.accept(response);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        String reason = "partial";
+        if (!openAiClient.isAvailable()) {
+            reason = "breaker";
+        } else {
+            // 스트리밍은 수신과 파싱이 겹치므로 openai_stream 한 단계로 잰다
+            Timer.Sample openai = planMetrics.start();
+            try {
+                callWithinBudget(ctx.deadline(), () -> {
+                    openAiClient.streamChatCompletion(compilePrompt(ctx).requestBody(), parser::feed, ctx.deadline());
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e; // 받는 쪽 전송 실패(클라이언트 연결 끊김) → OpenAI 읽기도 중단
+            } catch (TimeoutException e) {
+                log.warn("코스 스트리밍 예산 초과, 로컬 코스로 대체. conditions={}",
+                        TravelPlanCache.conditionsKey(ctx.conditions()));
+                reason = "budget";
+            } catch (CancellationException e) {
+                throw e;
+            } catch (OpenAiCircuitBreaker.OpenException e) {
+                reason = "breaker";
+            } catch (OpenAiConcurrencyLimiter.RejectedException e) {
+                reason = "limiter";
+            } catch (OpenAiClient.RefusalException e) {
+                log.warn("모델이 코스 스트리밍을 거절, 로컬 코스로 대체. conditions={}, refusal={}",
+                        TravelPlanCache.conditionsKey(ctx.conditions()), e.getMessage());
+                reason = "refusal";
+            } catch (Exception e) {
+                log.error("OpenAI 스트리밍 호출/파싱 오류", e);
+                reason = "error";
+            } finally {
+                planMetrics.stop(openai, "openai_stream", ctx.conditions().getArea());
+            }
         }
 
-        // 3) 5개 초과 방지
-        if (fixed.size() > 5) {
-            fixed = fixed.subList(0, 5);
+        List<TravelPlanResponse> streamed;
+        lock.lock();
+        try {
+            closed[0] = true;
+            streamed = List.copyOf(results);
+        } finally {
+            lock.unlock();
         }
 
-        // 4) order 재시퀀싱 (1..N)
-        fixed.sort(Comparator.comparingInt(TravelItem::getOrder));
-        for (int i = 0; i < fixed.size(); i++) {
-            TravelItem it = fixed.get(i);
-            fixed.set(i, new TravelItem(
-                    i + 1,
-                    it.getId(),
-                    it.getType(),
-                    it.getName(),
-                    it.getDescription(),
-                    it.getAddress(),
-                    it.getLatitude(),
-                    it.getLongitude(),
-                    it.getImageUrl(),
-                    it.getTag()
-            ));
+        // 모자란 코스는 로컬 코스로 채우고, 그런 결과는 캐시하지 않음
+        PlanResult filled = fillWithLocalPlans(streamed, ctx, reason);
+        for (TravelPlanResponse plan : filled.plans().subList(streamed.size(), filled.plans().size())) {
+            onPlan.accept(plan);
         }
-        return fixed;
-    }
-
-    private boolean isRestaurant(Store s) {
-        if (s.getTag() == null) return false;
-        String t = s.getTag().toLowerCase();
-
-        // 명확히 제외할 카테고리
-        if (t.contains("카페") || t.contains("디저트") || t.contains("베이커리") || t.contains("주점")) {
-            return false;
+        if (!filled.degraded()) {
+            travelPlanCache.put(ctx.cacheKey(), filled.plans());
         }
-
-        // 식사류 키워드 포함 여부
-        return t.contains("식") || t.contains("집") || t.contains("해산물")
-                || t.contains("뷔페") || t.contains("고기");
+        planMetrics.request(request, "stream", ctx.conditions(), filled.degraded());
+        return filled.plans();
     }
 
-    private TravelItem toItemFromPlace(int order, TouristPlace p) {
-        return new TravelItem(order, p.getId(), "관광지", p.getName(), "",
-                p.getAddress(), p.getLatitude(), p.getLongitude(),
-                p.getImageUrl(), null);
+    /** AI 가 준 plan 하나 → 후보 매핑, 5개 보정, 동선 정렬 */
+    private TravelPlanResponse toPlanResponse(AiPlanPayload.Plan plan, PlanContext ctx) {
+        return planMetrics.stage("repair", ctx.conditions().getArea(), () -> ctx.assembler().assemble(plan));
     }
 
-    private TravelItem toItemFromStore(int order, Store s) {
-        return new TravelItem(order, s.getId(), "가게", s.getName(), "",
-                s.getAddress(), s.getLatitude(), s.getLongitude(),
-                null, s.getTag());
+    // OpenAI 없이 만든 서로 다른 코스 3개 (테마 점수순, 5개·가게 2개 보정)
+    private List<TravelPlanResponse> localPlans(PlanContext ctx) {
+        return LocalCoursePlanner.plan(ctx.conditions(), ctx.places(), ctx.stores(), 3).stream()
+                .map(p -> RouteOptimizer.route(p.getSummary(), ctx.assembler().repairCourse(p.getCourse())))
+                .toList();
     }
 }
@@ -0,0 +1,136 @@
+package hackerton.seosancheck.service.ai.support;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 한 요청의 후보 목록(관광지 또는 가게)을 이름으로 찾는 인덱스.
+ * AI 가 돌려준 장소명을 정확히 일치 → 정규화 일치 → 편집 거리 → 포함 관계 순으로 찾는다.
+ * 정규화는 NFKD 로 한글을 자모 단위로 풀고 공백/기호를 없앤 소문자라, 띄어쓰기·괄호·받침 하나 차이도 잡힌다.
+ * 애매하면(같은 점수의 후보가 둘 이상, 편집 거리는 2위와 MIN_MARGIN 이상 차이 나지 않으면) 추측하지 않고 null.
+ */
+public final class CandidateIndex<T> {
+
+    // 이보다 짧은 이름(자모 기준, 한글 2글자 정도)은 편집 거리/포함 매칭을 하지 않음
+    private static final int MIN_FUZZY_LENGTH = 5;
+
+    // 편집 거리 매칭은 2위 후보보다 이만큼 이상 가까울 때만 ("서산시청" → "서산시장" 같은 오매칭 방지)
+    private static final int MIN_MARGIN = 2;
+
+    private final List<T> items;
+    private final String[] normalized;
+    private final Map<String, T> byName = new HashMap<>();
+    private final Map<String, T> byNormalized = new HashMap<>();
+
+    public CandidateIndex(List<T> items, Function<T, String> nameOf) {
+        this.items = List.copyOf(items);
+        this.normalized = new String[this.items.size()];
+        for (int i = 0; i < this.items.size(); i++) {
+            T item = this.items.get(i);
+            String name = nameOf.apply(item);
+            normalized[i] = normalize(name);
+            // 같은 이름이 여럿이면 목록 앞쪽(기존 findFirst 와 동일)
+            if (name != null) byName.putIfAbsent(name, item);
+            if (!normalized[i].isEmpty()) byNormalized.putIfAbsent(normalized[i], item);
+        }
+    }
+
+    public T find(String name) {
+        if (name == null) return null;
+        T exact = byName.get(name);
+        if (exact != null) return exact;
+
+        String key = normalize(name);
+        if (key.isEmpty()) return null;
+        T same = byNormalized.get(key);
+        if (same != null) return same;
+        if (key.length() < MIN_FUZZY_LENGTH) return null;
+
+        T close = closest(key);
+        return (close != null) ? close : containing(key);
+    }
+
+    /** 허용 거리 안에서 가장 가까운 하나 (2위와 MIN_MARGIN 이상 차이 나지 않으면 null) */
+    private T closest(String key) {
+        int allowed = maxDistance(key.length());
+        // 2위는 허용 거리 밖이라도 차이를 알아야 하므로 그만큼 더 넓게 계산
+        int limit = allowed + MIN_MARGIN - 1;
+        int best = limit + 1;
+        int second = limit + 1;
+        T bestItem = null;
+        for (int i = 0; i < normalized.length; i++) {
+            String candidate = normalized[i];
+            // 길이 차이는 거리의 하한
+            if (Math.abs(candidate.length() - key.length()) > Math.min(limit, best + MIN_MARGIN - 1)) continue;
+            int d = distance(key, candidate, limit);
+            if (d > limit) continue;
+            T item = items.get(i);
+            if (d < best) {
+                if (item != bestItem) second = best;
+                best = d;
+                bestItem = item;
+            } else if (item != bestItem && d < second) {
+                second = d;
+            }
+        }
+        return (best <= allowed && second - best >= MIN_MARGIN) ? bestItem : null;
+    }
+
+    /** "해미읍성" ↔ "서산 해미읍성" 처럼 한쪽이 다른 쪽을 포함하는 후보가 하나뿐일 때 */
+    private T containing(String key) {
+        T found = null;
+        for (int i = 0; i < normalized.length; i++) {
+            String candidate = normalized[i];
+            if (candidate.length() < MIN_FUZZY_LENGTH) continue;
+            if (candidate.contains(key) || key.contains(candidate)) {
+                if (found != null && found != items.get(i)) return null;
+                found = items.get(i);
+            }
+        }
+        return found;
+    }
+
+    // 한글 한 글자가 자모 2~3개라 글자 하나가 바뀌면 보통 거리 2 이상.
+    // 4글자 안팎(자모 12개 미만)은 받침 하나 같은 자모 1개 차이만, 긴 이름도 한 글자 안팎까지만 허용
+    private static int maxDistance(int length) {
+        return (length < 12) ? 1 : (length < 20) ? 2 : 3;
+    }
+
+    /** 레벤슈타인 거리, limit 를 넘는 게 확실해지면 limit + 1 로 조기 종료 */
+    static int distance(String a, String b, int limit) {
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (ca == b.charAt(j - 1)) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > limit) return limit + 1;
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return Math.min(prev[b.length()], limit + 1);
+    }
+
+    /** NFKD(한글 → 자모) + 소문자 + 문자/숫자만 */
+    static String normalize(String name) {
+        if (name == null) return "";
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD).toLowerCase();
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+}
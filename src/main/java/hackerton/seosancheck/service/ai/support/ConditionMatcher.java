@@ -0,0 +1,326 @@
+package hackerton.seosancheck.service.ai.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 동행/기간/지역/테마 키워드를 한 번의 문자 순회로 뽑아내는 Aho-Corasick 매처.
+ * 공백은 건너뛰고 매칭하므로 "바다가 보이는" 같은 키워드도 띄어쓰기와 무관하게 잡힌다.
+ *
+ * 우선순위 규칙 (종류별로 독립):
+ * 1) 가장 앞에서 시작하는 매치
+ * 2) 시작 위치가 같으면 더 긴 키워드
+ * 3) STOP 키워드("서산", "해산물" 등) 안에 완전히 포함된 지역 매치는 무시
+ * 동행 키워드가 없으면 "OO랑/과/와/하고" 형태에서 OO 를, 기간 키워드보다 앞에 "N박M일" 이 있으면 그것을 쓴다.
+ */
+public final class ConditionMatcher {
+
+    public enum Kind { COMPANION, DURATION, AREA, THEME, STOP }
+
+    public record Result(String companion, String duration, String area, String theme) {
+    }
+
+    // ===== 패턴 =====
+    private final Kind[] kinds;
+    private final String[] values;
+    private final int[] lengths;
+
+    // ===== 오토마톤 (상태별 정렬된 전이 문자/대상) =====
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] output;   // 이 상태에서 끝나는 가장 긴 패턴 (-1 = 없음)
+    private final int[] dictLink; // fail 체인에서 다음으로 출력이 있는 상태 (-1 = 없음)
+
+    private ConditionMatcher(Kind[] kinds, String[] values, int[] lengths,
+                             char[][] edgeChars, int[][] edgeTargets,
+                             int[] fail, int[] output, int[] dictLink) {
+        this.kinds = kinds;
+        this.values = values;
+        this.lengths = lengths;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.dictLink = dictLink;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Result match(String sentence) {
+        if (sentence == null || sentence.isEmpty()) {
+            return new Result(null, null, null, null);
+        }
+
+        // 종류별 최선 매치: 시작 위치(공백 제외 인덱스)와 패턴 번호
+        int companionStart = Integer.MAX_VALUE, companion = -1;
+        int durationStart = Integer.MAX_VALUE, duration = -1;
+        int themeStart = Integer.MAX_VALUE, theme = -1;
+        // 지역은 STOP 과의 겹침을 마지막에 판단하므로 후보를 모아 둔다 (start, pattern 쌍)
+        int[] areas = new int[8];
+        int areaCount = 0;
+        int[] stops = new int[8];
+        int stopCount = 0;
+
+        // "N박M일": phase 0 없음, 1 첫 숫자, 2 '박', 3 둘째 숫자
+        int phase = 0;
+        int candidateStart = -1, nightsFrom = -1, nightsTo = -1, daysFrom = -1;
+        int numericStart = Integer.MAX_VALUE;
+        String numericDuration = null;
+
+        // "OO랑/과/와/하고": 첫 번째로 조건을 만족하는 한글 덩어리
+        int runStart = -1;
+        int suffixAt = -1;
+        String companionByPattern = null;
+
+        int state = 0;
+        int pos = -1; // 공백 제외 인덱스
+        for (int i = 0; i < sentence.length(); i++) {
+            char c = sentence.charAt(i);
+
+            // --- 동행 패턴 (원문 기준, 한글 덩어리 단위) ---
+            boolean hangul = c >= '가' && c <= '힣';
+            if (hangul) {
+                if (runStart < 0) {
+                    runStart = i;
+                    suffixAt = -1;
+                }
+                if (i > runStart && (c == '랑' || c == '과' || c == '와')) suffixAt = i;
+                if (c == '고' && i - 1 > runStart && sentence.charAt(i - 1) == '하') suffixAt = i - 1;
+            }
+            if ((!hangul || i == sentence.length() - 1) && runStart >= 0) {
+                if (companionByPattern == null && suffixAt > runStart) {
+                    companionByPattern = sentence.substring(runStart, suffixAt);
+                }
+                runStart = -1;
+            }
+
+            if (Character.isWhitespace(c)) continue;
+            pos++;
+
+            // --- N박M일 (첫 번째 것만) ---
+            if (numericDuration == null) {
+                boolean digit = c >= '0' && c <= '9';
+                if (digit && (phase == 0 || phase == 2)) {
+                    if (phase == 0) {
+                        candidateStart = pos;
+                        nightsFrom = i;
+                    } else {
+                        daysFrom = i;
+                    }
+                    phase++;
+                } else if (c == '박' && phase == 1) {
+                    nightsTo = i;
+                    phase = 2;
+                } else if (c == '일' && phase == 3) {
+                    numericDuration = digits(sentence, nightsFrom, nightsTo) + "박 "
+                            + digits(sentence, daysFrom, i) + "일";
+                    numericStart = candidateStart;
+                } else if (!(digit && (phase == 1 || phase == 3))) {
+                    phase = 0;
+                }
+            }
+
+            // --- Aho-Corasick ---
+            state = step(state, c);
+            for (int s = (output[state] >= 0) ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int p = output[s];
+                int start = pos - lengths[p] + 1;
+                switch (kinds[p]) {
+                    case COMPANION -> {
+                        if (better(start, p, companionStart, companion)) {
+                            companionStart = start;
+                            companion = p;
+                        }
+                    }
+                    case DURATION -> {
+                        if (better(start, p, durationStart, duration)) {
+                            durationStart = start;
+                            duration = p;
+                        }
+                    }
+                    case THEME -> {
+                        if (better(start, p, themeStart, theme)) {
+                            themeStart = start;
+                            theme = p;
+                        }
+                    }
+                    case AREA -> {
+                        if (areaCount + 2 > areas.length) areas = Arrays.copyOf(areas, areas.length * 2);
+                        areas[areaCount++] = start;
+                        areas[areaCount++] = p;
+                    }
+                    case STOP -> {
+                        if (stopCount + 2 > stops.length) stops = Arrays.copyOf(stops, stops.length * 2);
+                        stops[stopCount++] = start;
+                        stops[stopCount++] = start + lengths[p] - 1;
+                    }
+                }
+            }
+        }
+
+        // 지역: STOP 안에 포함되지 않은 것 중 가장 앞/긴 것
+        int areaStart = Integer.MAX_VALUE, area = -1;
+        for (int a = 0; a < areaCount; a += 2) {
+            int start = areas[a];
+            int p = areas[a + 1];
+            int end = start + lengths[p] - 1;
+            boolean covered = false;
+            for (int k = 0; k < stopCount && !covered; k += 2) {
+                covered = stops[k] <= start && end <= stops[k + 1];
+            }
+            if (!covered && better(start, p, areaStart, area)) {
+                areaStart = start;
+                area = p;
+            }
+        }
+
+        // 기간: "N박M일" 이 키워드보다 앞서거나 같은 위치면 우선
+        String durationValue = (duration >= 0) ? values[duration] : null;
+        if (numericDuration != null && (duration < 0 || numericStart <= durationStart)) {
+            durationValue = numericDuration;
+        }
+
+        return new Result(
+                (companion >= 0) ? values[companion] : companionByPattern,
+                durationValue,
+                (area >= 0) ? values[area] : null,
+                (theme >= 0) ? values[theme] : null);
+    }
+
+    private static String digits(String s, int from, int to) {
+        StringBuilder sb = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private boolean better(int start, int p, int bestStart, int best) {
+        return best < 0 || start < bestStart || (start == bestStart && lengths[p] > lengths[best]);
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int idx = Arrays.binarySearch(edgeChars[state], c);
+            if (idx >= 0) return edgeTargets[state][idx];
+            if (state == 0) return 0;
+            state = fail[state];
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Kind> kinds = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(Kind kind, String keyword, String value) {
+            String key = keyword.replaceAll("\\s+", "");
+            if (key.isEmpty()) throw new IllegalArgumentException("빈 키워드");
+            kinds.add(kind);
+            keys.add(key);
+            values.add(value);
+            return this;
+        }
+
+        public Builder addAll(Kind kind, Map<String, String> keywordToValue) {
+            keywordToValue.forEach((k, v) -> add(kind, k, v));
+            return this;
+        }
+
+        public ConditionMatcher build() {
+            // trie
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            List<Integer> out = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            out.add(-1);
+            for (int p = 0; p < keys.size(); p++) {
+                int state = 0;
+                for (char c : keys.get(p).toCharArray()) {
+                    Integer next = trie.get(state).get(c);
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        out.add(-1);
+                        trie.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                int existing = out.get(state);
+                if (existing >= 0 && !kinds.get(existing).equals(kinds.get(p))) {
+                    throw new IllegalArgumentException("키워드 중복: " + keys.get(p));
+                }
+                if (existing < 0) out.set(state, p);
+            }
+
+            int n = trie.size();
+            char[][] edgeChars = new char[n][];
+            int[][] edgeTargets = new int[n][];
+            for (int s = 0; s < n; s++) {
+                TreeMap<Character, Integer> edges = trie.get(s);
+                edgeChars[s] = new char[edges.size()];
+                edgeTargets[s] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> e : edges.entrySet()) {
+                    edgeChars[s][i] = e.getKey();
+                    edgeTargets[s][i] = e.getValue();
+                    i++;
+                }
+            }
+
+            // BFS 로 fail / dict 링크
+            int[] fail = new int[n];
+            int[] output = new int[n];
+            int[] dictLink = new int[n];
+            Arrays.fill(dictLink, -1);
+            for (int s = 0; s < n; s++) output[s] = out.get(s);
+
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int target : edgeTargets[0]) {
+                fail[target] = 0;
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int s = queue.poll();
+                for (int i = 0; i < edgeChars[s].length; i++) {
+                    char c = edgeChars[s][i];
+                    int t = edgeTargets[s][i];
+                    int f = fail[s];
+                    while (true) {
+                        int idx = Arrays.binarySearch(edgeChars[f], c);
+                        if (idx >= 0) {
+                            fail[t] = edgeTargets[f][idx];
+                            break;
+                        }
+                        if (f == 0) {
+                            fail[t] = 0;
+                            break;
+                        }
+                        f = fail[f];
+                    }
+                    int ft = fail[t];
+                    dictLink[t] = (output[ft] >= 0) ? ft : dictLink[ft];
+                    queue.add(t);
+                }
+            }
+
+            int[] lengths = keys.stream().mapToInt(String::length).toArray();
+            return new ConditionMatcher(
+                    kinds.toArray(new Kind[0]),
+                    values.toArray(new String[0]),
+                    lengths,
+                    edgeChars, edgeTargets, fail, output, dictLink);
+        }
+    }
+}
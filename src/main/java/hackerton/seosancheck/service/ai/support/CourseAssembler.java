@@ -0,0 +1,183 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.model.ai.AiPlanPayload;
+import hackerton.seosancheck.model.ai.TravelItem;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 한 요청의 후보(관광지/가게)로 AI 가 준 plan 을 실제 코스로 만든다.
+ * 후보 매핑 → 5개·가게 2개 보정 → 동선 정렬. 후보 이름 인덱스는 요청마다 한 번만 만든다.
+ */
+public final class CourseAssembler {
+
+    private final List<TouristPlace> places;
+    private final List<Store> stores;
+    private final CandidateIndex<TouristPlace> placeNames;
+    private final CandidateIndex<Store> storeNames;
+
+    public CourseAssembler(List<TouristPlace> places, List<Store> stores) {
+        this.places = places;
+        this.stores = stores;
+        this.placeNames = new CandidateIndex<>(places, TouristPlace::getName);
+        this.storeNames = new CandidateIndex<>(stores, Store::getName);
+    }
+
+    /** AI 가 준 plan 하나 → 코스별 중복 제거, 후보 매핑, 5개 보정, 동선 정렬 */
+    public TravelPlanResponse assemble(AiPlanPayload.Plan plan) {
+        String summary = (plan.getSummary() == null) ? "" : plan.getSummary();
+
+        // 코스별 중복 제거 (번호 또는 이름 기준)
+        Set<String> usedInThisCourse = new HashSet<>();
+        List<AiPlanPayload.CourseItem> aiCourse = new ArrayList<>();
+        if (plan.getCourse() != null) {
+            for (AiPlanPayload.CourseItem c : plan.getCourse()) {
+                String key = (c == null) ? null : (c.getRef() != null) ? c.getRef() : c.getName();
+                if (key == null) continue;
+                if (usedInThisCourse.add(key)) aiCourse.add(c);
+            }
+        }
+
+        // 매핑
+        List<TravelItem> courseItems = mapToCourseItems(aiCourse);
+        // 보정: 항상 5개, 가게 2개 보장 + order 재시퀀싱
+        courseItems = repairCourse(courseItems);
+        // 동선: AI 가 준 순서 대신 이동 거리가 가장 짧은 순서로
+        return RouteOptimizer.route(summary, courseItems);
+    }
+
+    // 번호(ref)는 후보 목록 위치로 바로, 이름만 온 경우는 후보 인덱스로 찾고(철자가 조금 달라도 매칭),
+    // 응답에는 카탈로그 이름을 그대로 쓴다
+    public List<TravelItem> mapToCourseItems(List<AiPlanPayload.CourseItem> aiCourse) {
+        if (aiCourse == null) return List.of();
+
+        return aiCourse.stream().map(item -> {
+            try {
+                int order = (item.getOrder() == null || item.getOrder() <= 0) ? 1 : item.getOrder();
+
+                String description = (item.getDescription() == null) ? "" : item.getDescription();
+                String ref = item.getRef();
+                if (ref != null) {
+                    TouristPlace place = PromptCompiler.resolve(ref, PromptCompiler.PLACE_PREFIX, places);
+                    if (place != null) return toItemFromPlace(order, place, description);
+                    Store store = PromptCompiler.resolve(ref, PromptCompiler.STORE_PREFIX, stores);
+                    if (store != null) return toItemFromStore(order, store, description);
+                    return null;
+                }
+
+                String type = item.getType();
+                if (type == null) return null;
+                if ("식당".equals(type) || "카페".equals(type)) type = "가게";
+
+                String name = item.getName();
+
+                if ("관광지".equals(type)) {
+                    TouristPlace match = placeNames.find(name);
+                    if (match != null) return toItemFromPlace(order, match, description);
+                } else if ("가게".equals(type)) {
+                    Store match = storeNames.find(name);
+                    if (match != null) return toItemFromStore(order, match, description);
+                }
+            } catch (Exception ignore) {}
+            return null;
+        }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    // ===== 보정 로직: 항상 5개, '가게' 2개 보장 + order 재시퀀싱 =====
+    public List<TravelItem> repairCourse(List<TravelItem> items) {
+        List<TravelItem> fixed = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        if (items != null) {
+            // 철자가 달라도 같은 장소로 매핑된 항목은 한 번만
+            for (TravelItem item : items) {
+                if (usedNames.add(item.getName())) fixed.add(item);
+            }
+        }
+
+        long storeCnt = fixed.stream().filter(i -> "가게".equals(i.getType())).count();
+
+        // 식당(가게) 선호 선택(태그 기반)
+        List<Store> restaurantCandidates = stores.stream()
+                .filter(LocalCoursePlanner::isRestaurant)
+                .collect(Collectors.toList());
+
+        // 1) 가게 2개 미만이면 채우기 (식당 태그 우선)
+        Iterator<Store> itStores = restaurantCandidates.iterator();
+        while (storeCnt < 2 && itStores.hasNext()) {
+            Store s = itStores.next();
+            if (!usedNames.add(s.getName())) continue;
+            fixed.add(toItemFromStore(fixed.size() + 1, s, ""));
+            storeCnt++;
+        }
+        if (storeCnt < 2) {
+            itStores = stores.iterator();
+            while (storeCnt < 2 && itStores.hasNext()) {
+                Store s = itStores.next();
+                if (!usedNames.add(s.getName())) continue;
+                fixed.add(toItemFromStore(fixed.size() + 1, s, ""));
+                storeCnt++;
+            }
+        }
+
+        // 2) 총 5개가 될 때까지 관광지로 채우기
+        Iterator<TouristPlace> itPlaces = places.iterator();
+        while (fixed.size() < 5 && itPlaces.hasNext()) {
+            TouristPlace p = itPlaces.next();
+            if (!usedNames.add(p.getName())) continue;
+            fixed.add(toItemFromPlace(fixed.size() + 1, p, ""));
+        }
+        // 그래도 부족하면 가게로 채우기
+        itStores = stores.iterator();
+        while (fixed.size() < 5 && itStores.hasNext()) {
+            Store s = itStores.next();
+            if (!usedNames.add(s.getName())) continue;
+            fixed.add(toItemFromStore(fixed.size() + 1, s, ""));
+        }
+
+        // 3) 5개 초과 방지
+        if (fixed.size() > 5) {
+            fixed = fixed.subList(0, 5);
+        }
+
+        // 4) order 재시퀀싱 (1..N)
+        fixed.sort(Comparator.comparingInt(TravelItem::getOrder));
+        for (int i = 0; i < fixed.size(); i++) {
+            TravelItem it = fixed.get(i);
+            fixed.set(i, new TravelItem(
+                    i + 1,
+                    it.getId(),
+                    it.getType(),
+                    it.getName(),
+                    it.getDescription(),
+                    it.getAddress(),
+                    it.getLatitude(),
+                    it.getLongitude(),
+                    it.getImageUrl(),
+                    it.getTag()
+            ));
+        }
+        return fixed;
+    }
+
+    private static TravelItem toItemFromPlace(int order, TouristPlace p, String description) {
+        return new TravelItem(order, p.getId(), "관광지", p.getName(), description,
+                p.getAddress(), p.getLatitude(), p.getLongitude(),
+                p.getImageUrl(), null);
+    }
+
+    private static TravelItem toItemFromStore(int order, Store s, String description) {
+        return new TravelItem(order, s.getId(), "가게", s.getName(), description,
+                s.getAddress(), s.getLatitude(), s.getLongitude(),
+                null, s.getTag());
+    }
+}
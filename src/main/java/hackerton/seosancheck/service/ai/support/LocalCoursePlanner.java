@@ -0,0 +1,152 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.model.ai.TravelItem;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OpenAI 없이 이미 조회한 후보만으로 코스를 만든다 (예산 초과·회로 열림·응답 부족 시).
+ * 테마 키워드가 이름/관심사/해설/태그에 많이 걸리는 후보부터 점수순(동점은 id 순)으로 줄 세우고,
+ * 코스 k 는 k, k+n, k+2n 번째를 가져가 같은 입력이면 항상 같은, 서로 겹치지 않는 코스가 나온다.
+ */
+public final class LocalCoursePlanner {
+
+    // 순서: 관광지 → 가게 → 관광지 → 관광지 → 가게 (프롬프트 규칙과 동일)
+    private static final boolean[] STORE_SLOTS = {false, true, false, false, true};
+
+    private static final Map<String, List<String>> THEME_HINTS = Map.ofEntries(
+            Map.entry("감성적인", List.of("카페", "노을", "바다", "해변", "전망", "꽃")),
+            Map.entry("힐링", List.of("숲", "공원", "휴양", "산책", "호수", "저수지", "바다")),
+            Map.entry("먹방", List.of("해산물", "횟집", "식당", "맛집", "시장", "고기", "국밥")),
+            Map.entry("인생샷", List.of("전망", "노을", "꽃", "벽화", "포토", "바다")),
+            Map.entry("역사", List.of("역사", "성", "읍성", "유적", "사적", "순교", "서원", "향교", "문화재")),
+            Map.entry("문화", List.of("문화", "박물관", "미술관", "전시", "공연", "축제", "사찰", "절")),
+            Map.entry("생태", List.of("생태", "습지", "철새", "갯벌", "숲", "천수만")),
+            Map.entry("자연", List.of("자연", "산", "숲", "바다", "해변", "호수", "계곡", "공원")),
+            Map.entry("체험", List.of("체험", "농장", "어촌", "갯벌", "공방", "캠핑")),
+            Map.entry("로맨틱", List.of("노을", "야경", "해변", "카페", "바다", "산책")),
+            Map.entry("포토스팟", List.of("전망", "포토", "꽃", "노을", "벽화")),
+            Map.entry("바쁜", List.of("시장", "도심", "공원")),
+            Map.entry("정신없는", List.of("시장", "축제", "도심"))
+    );
+
+    private LocalCoursePlanner() {
+    }
+
+    /** 서로 다른 코스 count 개 (각 코스는 최대 5개, 후보가 모자라면 그만큼 짧음) */
+    public static List<TravelPlanResponse> plan(TravelConditions conditions,
+                                                List<TouristPlace> places,
+                                                List<Store> stores,
+                                                int count) {
+        String theme = (conditions == null) ? null : conditions.getTheme();
+        List<String> hints = (theme == null) ? List.of() : THEME_HINTS.getOrDefault(theme, List.of());
+
+        List<TouristPlace> rankedPlaces = places.stream()
+                .sorted(Comparator.comparingInt((TouristPlace p) -> -score(hints,
+                                p.getName(), p.getCategory(), p.getDescription()))
+                        .thenComparing(TouristPlace::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        // 식사 자리가 필요하니 식당 태그 우선, 그 안에서 테마 점수순
+        List<Store> rankedStores = stores.stream()
+                .sorted(Comparator.comparingInt((Store s) -> isRestaurant(s) ? 0 : 1)
+                        .thenComparingInt(s -> -score(hints, s.getName(), s.getTag()))
+                        .thenComparing(Store::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        List<TravelPlanResponse> plans = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            List<TravelItem> course = new ArrayList<>(STORE_SLOTS.length);
+            Set<String> used = new HashSet<>();
+            int placeTurn = 0;
+            int storeTurn = 0;
+            for (boolean storeSlot : STORE_SLOTS) {
+                TravelItem item = storeSlot
+                        ? pickStore(rankedStores, k, count, storeTurn++, used, course.size() + 1)
+                        : pickPlace(rankedPlaces, k, count, placeTurn++, used, course.size() + 1);
+                // 한쪽 후보가 바닥나면 다른 쪽으로
+                if (item == null) {
+                    item = storeSlot
+                            ? pickPlace(rankedPlaces, k, count, placeTurn++, used, course.size() + 1)
+                            : pickStore(rankedStores, k, count, storeTurn++, used, course.size() + 1);
+                }
+                if (item != null) course.add(item);
+            }
+            String summary = (theme == null)
+                    ? "근처 인기 스팟으로 구성한 대체 코스 " + (k + 1)
+                    : theme + " 테마로 고른 근처 코스 " + (k + 1);
+            plans.add(new TravelPlanResponse(summary, course));
+        }
+        return plans;
+    }
+
+    /** 코스 k 의 turn 번째 자리: k + turn*stride 부터 아직 안 쓴 후보 (끝에 닿으면 앞에서 다시) */
+    private static TravelItem pickPlace(List<TouristPlace> ranked, int k, int stride, int turn,
+                                        Set<String> used, int order) {
+        if (ranked.isEmpty()) return null;
+        int start = (k + turn * stride) % ranked.size();
+        for (int i = 0; i < ranked.size(); i++) {
+            TouristPlace p = ranked.get((start + i) % ranked.size());
+            if (used.add(p.getName())) {
+                return new TravelItem(order, p.getId(), "관광지", p.getName(), brief(p.getDescription()),
+                        p.getAddress(), p.getLatitude(), p.getLongitude(), p.getImageUrl(), null);
+            }
+        }
+        return null;
+    }
+
+    private static TravelItem pickStore(List<Store> ranked, int k, int stride, int turn,
+                                        Set<String> used, int order) {
+        if (ranked.isEmpty()) return null;
+        int start = (k + turn * stride) % ranked.size();
+        for (int i = 0; i < ranked.size(); i++) {
+            Store s = ranked.get((start + i) % ranked.size());
+            if (used.add(s.getName())) {
+                return new TravelItem(order, s.getId(), "가게", s.getName(), "",
+                        s.getAddress(), s.getLatitude(), s.getLongitude(), null, s.getTag());
+            }
+        }
+        return null;
+    }
+
+    private static int score(List<String> hints, String... fields) {
+        int score = 0;
+        for (String hint : hints) {
+            for (String field : fields) {
+                if (field != null && field.contains(hint)) {
+                    score++;
+                    break;
+                }
+            }
+        }
+        return score;
+    }
+
+    // 해설 첫 문장 (길면 자름)
+    private static String brief(String description) {
+        if (description == null || description.isBlank()) return "";
+        String text = description.strip();
+        int end = text.indexOf(". ");
+        if (end > 0) text = text.substring(0, end + 1);
+        return (text.length() > 80) ? text.substring(0, 80) + "…" : text;
+    }
+
+    /** 식사 가능한 가게 (카페/디저트/주점 제외) */
+    public static boolean isRestaurant(Store s) {
+        if (s.getTag() == null) return false;
+        String t = s.getTag().toLowerCase();
+        if (t.contains("카페") || t.contains("디저트") || t.contains("베이커리") || t.contains("주점")) {
+            return false;
+        }
+        return t.contains("식") || t.contains("집") || t.contains("해산물")
+                || t.contains("뷔페") || t.contains("고기");
+    }
+}
@@ -0,0 +1,94 @@
+package hackerton.seosancheck.service.ai.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 호출 회로 차단기.
+ * 연속 failure-threshold 번 실패(HTTP 오류·응답 타임아웃)하면 open-ms 동안 호출하지 않고 바로 거절하고,
+ * 그 뒤 한 건만 시험 삼아 보내(half-open) 성공하면 닫고 실패하면 다시 연다.
+ */
+@Slf4j
+@Component
+public class OpenAiCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** 회로가 열려 있어 호출하지 않음 */
+    public static class OpenException extends RuntimeException {
+        public OpenException() {
+            super("OpenAI 회로가 열려 있어 호출하지 않습니다.");
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public OpenAiCircuitBreaker(MeterRegistry registry,
+                                @Value("${ai.breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${ai.breaker.open-ms:30000}") long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMs * 1_000_000L;
+        Gauge.builder("openai.breaker.state", this, b -> b.state().ordinal())
+                .description("0=closed, 1=open, 2=half-open")
+                .register(registry);
+    }
+
+    /** 지금 호출해도 되는지 (호출 없이 판단만, 로컬 대체 여부 결정용) */
+    public synchronized boolean isCallPermitted() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case HALF_OPEN -> !trialInFlight;
+            case OPEN -> false;
+        };
+    }
+
+    /** 호출 직전에 부름. 허용되지 않으면 OpenException */
+    public synchronized void acquire() {
+        switch (state()) {
+            case CLOSED -> { }
+            case HALF_OPEN -> {
+                if (trialInFlight) throw new OpenException();
+                trialInFlight = true;
+            }
+            case OPEN -> throw new OpenException();
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) log.info("OpenAI 회로 닫힘");
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    /** acquire 뒤 보내지 않았거나(동시 호출 리미터가 거절) 이쪽에서 중단한 호출(예산 초과·취소), 상태는 그대로 */
+    public synchronized void onNotSent() {
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            if (state != State.OPEN) log.warn("OpenAI 회로 열림 ({}ms 동안 호출 중단)", openNanos / 1_000_000L);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            failures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+}
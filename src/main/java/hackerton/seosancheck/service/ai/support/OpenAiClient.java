@@ -0,0 +1,303 @@
+package hackerton.seosancheck.service.ai.support;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hackerton.seosancheck.model.ai.ChatCompletion;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OpenAI chat completions 호출 (HTTP/2 openAiRestTemplate 사용, 회로 차단기 → 동시 호출 리미터 경유).
+ * 429 는 Retry-After 만큼 기다렸다가 deadline 안이면 max-retries 번까지 다시 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenAiClient {
+
+    /** 모델이 응답 대신 refusal 을 돌려줌 (HTTP 는 정상이므로 회로 차단기 성공/실패 어느 쪽으로도 세지 않음) */
+    public static class RefusalException extends RuntimeException {
+        public RefusalException(String refusal) {
+            super(refusal);
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final RestTemplate openAiRestTemplate;
+    private final OpenAiCircuitBreaker circuitBreaker;
+    private final OpenAiConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.api-key}")
+    private String apiKey;
+
+    @Value("${openai.api-url:https://api.openai.com/v1/chat/completions}")
+    private String apiUrl;
+
+    @Value("${ai.limiter.max-retries:1}")
+    private int maxRetries;
+
+    /** 회로가 열려 있으면 false (호출해도 바로 거절됨) */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    /** 요청 예산이 없는 호출: 리미터 대기는 ai.limiter.max-wait-ms 까지 */
+    public ChatCompletion chatCompletion(Map<String, Object> requestBody) {
+        return chatCompletion(requestBody, limiter.defaultDeadline());
+    }
+
+    /**
+     * 요청 본문을 보내고 응답을 바로 DTO 로 읽어 반환 (중간 문자열 없이), 2xx 가 아니거나 본문이 없으면 null.
+     * 회로가 열려 있으면 OpenAiCircuitBreaker.OpenException,
+     * deadline(System.nanoTime 기준) 안에 보낼 차례가 안 오면 OpenAiConcurrencyLimiter.RejectedException,
+     * 모델이 거절(message.refusal)하면 RefusalException
+     */
+    public ChatCompletion chatCompletion(Map<String, Object> requestBody, long deadline) {
+        acquire();
+        ChatCompletion body = null;
+        boolean sent = false;
+        boolean abandoned = false;
+        boolean clientError = false;
+        try {
+            body = limited(deadline, permit -> exchange(requestBody, permit));
+            sent = true;
+        } catch (OpenAiConcurrencyLimiter.RejectedException | CancellationException e) {
+            throw e; // 리미터에서 거절되거나 기다리다 취소됨 → 보내지 않음
+        } catch (RuntimeException | Error e) {
+            sent = true;
+            abandoned = abandoned(e);
+            clientError = clientError(e);
+            throw e;
+        } finally {
+            String refusal = (body == null) ? null : body.firstRefusal();
+            finish(sent, (refusal != null) ? "refusal"
+                    : (body != null) ? "success"
+                    : abandoned ? "cancelled"
+                    : clientError ? "client_error" : "error");
+        }
+        String refusal = (body == null) ? null : body.firstRefusal();
+        if (refusal != null) throw new RefusalException(refusal);
+        return body;
+    }
+
+    private ChatCompletion exchange(Map<String, Object> requestBody, OpenAiConcurrencyLimiter.Permit permit) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+
+        ResponseEntity<ChatCompletion> response =
+                openAiRestTemplate.exchange(apiUrl, HttpMethod.POST, entity, ChatCompletion.class);
+        permit.observe(response.getHeaders());
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            recordUsage(response.getBody());
+            return response.getBody();
+        }
+        return null;
+    }
+
+    public void streamChatCompletion(Map<String, Object> requestBody, Consumer<String> onDelta) {
+        streamChatCompletion(requestBody, onDelta, limiter.defaultDeadline());
+    }
+
+    /**
+     * stream=true 로 요청하고 SSE 로 오는 content 조각을 순서대로 onDelta 에 넘긴다.
+     * onDelta 에서 예외를 던지면 읽기를 멈추고 연결을 닫는다. 리미터 자리는 스트림이 끝날 때 반납.
+     * 모델이 거절(delta.refusal)하면 스트림을 다 읽은 뒤 RefusalException
+     */
+    public void streamChatCompletion(Map<String, Object> requestBody, Consumer<String> onDelta, long deadline) {
+        acquire();
+        // 응답 조각이 한 번이라도 왔으면 OpenAI 는 살아 있는 것 (이후 끊김은 대부분 클라이언트 쪽)
+        AtomicBoolean responded = new AtomicBoolean(false);
+        StringBuilder refusal = new StringBuilder();
+        boolean sent = false;
+        boolean abandoned = false;
+        boolean clientError = false;
+        try {
+            limited(deadline, permit -> {
+                stream(requestBody, permit, delta -> {
+                    responded.set(true);
+                    onDelta.accept(delta);
+                }, refusal::append);
+                return null;
+            });
+            sent = true;
+            responded.set(true);
+        } catch (OpenAiConcurrencyLimiter.RejectedException | CancellationException e) {
+            throw e; // 리미터에서 거절되거나 기다리다 취소됨 → 보내지 않음
+        } catch (RuntimeException | Error e) {
+            sent = true;
+            abandoned = abandoned(e);
+            clientError = clientError(e);
+            throw e;
+        } finally {
+            finish(sent, (refusal.length() > 0) ? "refusal"
+                    : responded.get() ? "success"
+                    : abandoned ? "cancelled"
+                    : clientError ? "client_error" : "error");
+        }
+        if (refusal.length() > 0) throw new RefusalException(refusal.toString());
+    }
+
+    /**
+     * 리미터 자리를 얻어 call 을 보내고 결과를 리미터에 알림.
+     * 429 면 Retry-After 만큼 멈춘 뒤(리미터가 deadline 안에 다시 자리를 주면) 다시 보내고, 그래도 안 되면 마지막 429 를 던진다.
+     * 처음 자리부터 못 얻으면 RejectedException (아무것도 보내지 않음).
+     */
+    private <T> T limited(long deadline, Function<OpenAiConcurrencyLimiter.Permit, T> call) {
+        HttpClientErrorException.TooManyRequests lastRateLimit = null;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            OpenAiConcurrencyLimiter.Permit permit;
+            try {
+                permit = limiter.acquire(deadline);
+            } catch (OpenAiConcurrencyLimiter.RejectedException e) {
+                if (lastRateLimit != null) throw lastRateLimit;
+                meterRegistry.counter("openai.calls", "outcome", "rejected").increment();
+                throw e;
+            }
+
+            try {
+                T result = call.apply(permit);
+                permit.onSuccess();
+                return result;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                permit.onRateLimited(e.getResponseHeaders());
+                log.warn("OpenAI 429 (시도 {}/{})", attempt + 1, maxRetries + 1);
+                lastRateLimit = e;
+            } catch (HttpServerErrorException | ResourceAccessException e) {
+                // 예산 초과로 interrupt 된 호출은 OpenAI 과부하 신호가 아님
+                if (Thread.currentThread().isInterrupted()) permit.onIgnored();
+                else permit.onDropped();
+                throw e;
+            } finally {
+                permit.onIgnored(); // 위에서 결과를 알렸으면 무시됨
+            }
+        }
+        throw lastRateLimit;
+    }
+
+    /** 응답의 usage 를 모델별 토큰 분포로 기록 (없으면 무시) */
+    private void recordUsage(ChatCompletion completion) {
+        ChatCompletion.Usage usage = completion.getUsage();
+        if (usage == null) return;
+        String model = (completion.getModel() == null) ? "unknown" : completion.getModel();
+        if (usage.getPromptTokens() != null) {
+            meterRegistry.summary("openai.tokens", "type", "prompt", "model", model)
+                    .record(usage.getPromptTokens());
+        }
+        if (usage.getCompletionTokens() != null) {
+            meterRegistry.summary("openai.tokens", "type", "completion", "model", model)
+                    .record(usage.getCompletionTokens());
+        }
+    }
+
+    private void acquire() {
+        try {
+            circuitBreaker.acquire();
+        } catch (OpenAiCircuitBreaker.OpenException e) {
+            meterRegistry.counter("openai.calls", "outcome", "rejected").increment();
+            throw e;
+        }
+    }
+
+    // outcome = success | error(5xx·429 재시도 소진, I/O 오류, 응답 타임아웃) | client_error(429 외 4xx)
+    //           | cancelled(이쪽에서 중단) | refusal(모델 거절).
+    // 회로 차단기 실패로는 error 만 센다. 리미터가 보내지 않은 호출, 4xx·중단·거절된 호출은 판단에서 뺀다
+    // (half-open 시험 자리만 반납)
+    private void finish(boolean sent, String outcome) {
+        if (!sent) {
+            circuitBreaker.onNotSent();
+            return;
+        }
+        meterRegistry.counter("openai.calls", "outcome", outcome).increment();
+        switch (outcome) {
+            case "success" -> circuitBreaker.onSuccess();
+            case "error" -> circuitBreaker.onFailure();
+            default -> circuitBreaker.onNotSent();
+        }
+    }
+
+    /**
+     * 예산 초과(joinUntil), StageScope 종료, 클라이언트 연결 끊김으로 이쪽에서 interrupt 한 호출인지.
+     * OpenAI 상태와 무관하므로 실패로 세지 않는다. 소켓 읽기 타임아웃(SocketTimeoutException)은 실제 지연이라 제외
+     */
+    private static boolean abandoned(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof ClosedByInterruptException) return true;
+            if (t instanceof InterruptedIOException && !(t instanceof SocketTimeoutException)) return true;
+        }
+        return false;
+    }
+
+    /** 429 를 뺀 4xx (잘못된 요청·인증·모델 이름 등): 요청 쪽 문제라 OpenAI 장애로 세지 않는다 */
+    private static boolean clientError(Throwable e) {
+        return e instanceof HttpClientErrorException
+                && !(e instanceof HttpClientErrorException.TooManyRequests);
+    }
+
+    private void stream(Map<String, Object> requestBody, OpenAiConcurrencyLimiter.Permit permit,
+                        Consumer<String> onDelta, Consumer<String> onRefusal) {
+        Map<String, Object> body = new HashMap<>(requestBody);
+        body.put("stream", true);
+        body.put("stream_options", Map.of("include_usage", true));
+
+        openAiRestTemplate.execute(apiUrl, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    request.getHeaders().setBearerAuth(apiKey);
+                    MAPPER.writeValue(request.getBody(), body);
+                },
+                response -> {
+                    permit.observe(response.getHeaders());
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) continue;
+                            String data = line.substring(5).trim();
+                            if ("[DONE]".equals(data)) break;
+
+                            ChatCompletion chunk = MAPPER.readValue(data, ChatCompletion.class);
+                            recordUsage(chunk);
+                            String content = chunk.firstDelta();
+                            if (content != null) {
+                                onDelta.accept(content);
+                            }
+                            String refused = chunk.firstDeltaRefusal();
+                            if (refused != null) {
+                                onRefusal.accept(refused);
+                            }
+                        }
+                    }
+                    return null;
+                });
+    }
+}
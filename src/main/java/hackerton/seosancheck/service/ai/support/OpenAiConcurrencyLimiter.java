@@ -0,0 +1,322 @@
+package hackerton.seosancheck.service.ai.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 동시 호출 수 제한 (AIMD).
+ * - 성공하면 limit 을 조금씩(+1/limit) 올리고, 429·5xx·타임아웃이면 절반으로 줄인다 (한 응답 시간 안에 한 번만)
+ * - 429 의 Retry-After(retry-after-ms) 와 x-ratelimit-remaining/reset 헤더를 보고 그 시각까지 새 호출을 멈춘다
+ * - 자리가 없으면 최대 queue-size 개까지 기다리고, deadline 안에 차례가 오지 않을 게 뻔하면 기다리지 않고 바로 거절한다
+ * 거절은 RejectedException, 호출 측은 로컬 코스로 대체한다.
+ */
+@Slf4j
+@Component
+public class OpenAiConcurrencyLimiter {
+
+    /** 리미터가 호출을 보내지 않음 (reason = queue_full | deadline | backoff) */
+    public static class RejectedException extends RuntimeException {
+        private final String reason;
+
+        public RejectedException(String reason) {
+            super("OpenAI 호출 대기 한도 초과 (" + reason + ")");
+            this.reason = reason;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final double backoffRatio;
+    private final long maxWaitNanos;
+    private final long defaultRetryAfterNanos;
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntil;       // System.nanoTime 기준, paused 가 false 면 의미 없음
+    private boolean paused;
+    private long lastDecreaseAt;
+    private double latencyNanos = TimeUnit.SECONDS.toNanos(1); // 응답 시간 EWMA, 대기 시간 추정용
+
+    private final Timer waitTimer;
+    private final Counter rateLimited;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public OpenAiConcurrencyLimiter(MeterRegistry registry,
+                                    @Value("${ai.limiter.initial-limit:20}") int initialLimit,
+                                    @Value("${ai.limiter.min-limit:2}") int minLimit,
+                                    @Value("${ai.limiter.max-limit:100}") int maxLimit,
+                                    @Value("${ai.limiter.queue-size:200}") int queueSize,
+                                    @Value("${ai.limiter.backoff-ratio:0.5}") double backoffRatio,
+                                    @Value("${ai.limiter.max-wait-ms:5000}") long maxWaitMs,
+                                    @Value("${ai.limiter.default-retry-after-ms:1000}") long defaultRetryAfterMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.queueSize = queueSize;
+        this.backoffRatio = backoffRatio;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.defaultRetryAfterNanos = TimeUnit.MILLISECONDS.toNanos(defaultRetryAfterMs);
+        this.lastDecreaseAt = System.nanoTime() - TimeUnit.HOURS.toNanos(1);
+
+        Gauge.builder("openai.limiter.limit", this, l -> l.snapshot(0))
+                .description("현재 허용 동시 호출 수").register(registry);
+        Gauge.builder("openai.limiter.inflight", this, l -> l.snapshot(1))
+                .description("진행 중인 OpenAI 호출 수").register(registry);
+        Gauge.builder("openai.limiter.queued", this, l -> l.snapshot(2))
+                .description("차례를 기다리는 호출 수").register(registry);
+        this.waitTimer = Timer.builder("openai.limiter.wait")
+                .description("호출 전 대기 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rateLimited = Counter.builder("openai.rate_limited")
+                .description("429 응답 수")
+                .register(registry);
+        for (String reason : List.of("queue_full", "deadline", "backoff")) {
+            rejected.put(reason, Counter.builder("openai.limiter.rejected")
+                    .description("리미터가 보내지 않은 호출")
+                    .tag("reason", reason)
+                    .register(registry));
+        }
+    }
+
+    /** 요청 예산이 따로 없는 호출(테마 분류 등)의 대기 기한 */
+    public long defaultDeadline() {
+        return System.nanoTime() + maxWaitNanos;
+    }
+
+    /**
+     * 호출 자리를 얻음. deadline(System.nanoTime 기준)까지 못 얻으면 RejectedException,
+     * 기다리는 중 interrupt 되면 CancellationException.
+     */
+    public Permit acquire(long deadline) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            long now = start;
+            if (!canEnter(now)) {
+                if (waiting >= queueSize) throw reject("queue_full");
+                if (paused && pausedUntil - deadline > 0) throw reject("backoff");
+                if (expectedWait(now) > deadline - now) throw reject("deadline");
+
+                waiting++;
+                try {
+                    while (!canEnter(now)) {
+                        long remaining = deadline - now;
+                        if (remaining <= 0) throw reject("deadline");
+                        if (paused) remaining = Math.min(remaining, Math.max(1, pausedUntil - now));
+                        changed.awaitNanos(remaining);
+                        now = System.nanoTime();
+                    }
+                } finally {
+                    waiting--;
+                }
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("요청이 취소되었습니다.");
+        } finally {
+            lock.unlock();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Permit(System.nanoTime());
+    }
+
+    /** 얻은 호출 자리. 결과를 한 번 알려 주면 자리를 반납한다 (두 번째부터는 무시) */
+    public final class Permit {
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /** 정상 응답의 x-ratelimit 헤더 (남은 요청/토큰이 0 이면 reset 까지 새 호출을 멈춤) */
+        public void observe(HttpHeaders headers) {
+            long reset = exhaustedResetNanos(headers);
+            if (reset > 0) pause(reset);
+        }
+
+        public void onSuccess() {
+            release(Outcome.SUCCESS, 0);
+        }
+
+        /** 429, headers 의 Retry-After 만큼 멈추고 limit 을 줄임 */
+        public void onRateLimited(HttpHeaders headers) {
+            rateLimited.increment();
+            long retryAfter = retryAfterNanos(headers);
+            release(Outcome.DROPPED, (retryAfter > 0) ? retryAfter : defaultRetryAfterNanos);
+        }
+
+        /** 5xx·타임아웃 같은 과부하 신호 */
+        public void onDropped() {
+            release(Outcome.DROPPED, 0);
+        }
+
+        /** 요청 취소·4xx 처럼 OpenAI 부하와 상관없는 끝 */
+        public void onIgnored() {
+            release(Outcome.IGNORED, 0);
+        }
+
+        private void release(Outcome outcome, long pauseNanos) {
+            lock.lock();
+            try {
+                if (released) return;
+                released = true;
+                inFlight--;
+                long now = System.nanoTime();
+                switch (outcome) {
+                    case SUCCESS -> {
+                        latencyNanos = latencyNanos * 0.8 + (now - startedAt) * 0.2;
+                        // 자리를 다 쓰지도 않는데 올리면 limit 이 의미 없이 커짐
+                        if (inFlight + 1 >= limit / 2) limit = Math.min(maxLimit, limit + 1 / limit);
+                    }
+                    case DROPPED -> decrease(now);
+                    case IGNORED -> { }
+                }
+                if (pauseNanos > 0) pauseLocked(now + pauseNanos);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private boolean canEnter(long now) {
+        if (paused) {
+            if (now - pausedUntil < 0) return false;
+            paused = false;
+        }
+        return inFlight < Math.max(1, (int) limit);
+    }
+
+    // 앞선 호출이 끝나기를 기다릴 시간 추정: 빠져야 할 자리 수 / limit × 평균 응답 시간 (+ 멈춘 시간)
+    private long expectedWait(long now) {
+        double ahead = waiting + inFlight - Math.floor(limit) + 1;
+        long wait = (ahead <= 0) ? 0 : (long) (ahead / Math.max(1, Math.floor(limit)) * latencyNanos);
+        if (paused && pausedUntil - now > 0) wait += pausedUntil - now;
+        return wait;
+    }
+
+    // 같은 혼잡으로 몰려 오는 실패에 여러 번 줄이지 않도록 응답 시간 한 번에 한 번만
+    private void decrease(long now) {
+        if (now - lastDecreaseAt < latencyNanos) return;
+        lastDecreaseAt = now;
+        double before = limit;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        log.warn("OpenAI 동시 호출 한도 축소 {} → {}", (int) before, (int) limit);
+    }
+
+    private void pause(long nanos) {
+        lock.lock();
+        try {
+            pauseLocked(System.nanoTime() + nanos);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pauseLocked(long until) {
+        if (!paused || until - pausedUntil > 0) {
+            pausedUntil = until;
+            paused = true;
+        }
+    }
+
+    private RejectedException reject(String reason) {
+        rejected.get(reason).increment();
+        return new RejectedException(reason);
+    }
+
+    private double snapshot(int field) {
+        lock.lock();
+        try {
+            return switch (field) {
+                case 0 -> limit;
+                case 1 -> inFlight;
+                default -> waiting;
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** retry-after-ms → Retry-After(초 또는 HTTP 날짜), 없으면 0 */
+    static long retryAfterNanos(HttpHeaders headers) {
+        if (headers == null) return 0;
+        try {
+            String millis = headers.getFirst("retry-after-ms");
+            if (millis != null) return TimeUnit.MILLISECONDS.toNanos((long) Double.parseDouble(millis.trim()));
+            String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (value == null) return 0;
+            value = value.trim();
+            if (value.chars().allMatch(Character::isDigit)) return TimeUnit.SECONDS.toNanos(Long.parseLong(value));
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /** x-ratelimit-remaining-(requests|tokens) 가 0 이면 해당 reset 까지 남은 시간, 아니면 0 */
+    static long exhaustedResetNanos(HttpHeaders headers) {
+        if (headers == null) return 0;
+        long reset = 0;
+        for (String kind : List.of("requests", "tokens")) {
+            if ("0".equals(headers.getFirst("x-ratelimit-remaining-" + kind))) {
+                reset = Math.max(reset, parseDuration(headers.getFirst("x-ratelimit-reset-" + kind)));
+            }
+        }
+        return reset;
+    }
+
+    // OpenAI reset 형식: "20ms", "1s", "6m0s", "1h2m3.5s"
+    static long parseDuration(String value) {
+        if (value == null) return 0;
+        Matcher m = DURATION_PART.matcher(value.trim());
+        double nanos = 0;
+        while (m.find()) {
+            double amount = Double.parseDouble(m.group(1));
+            nanos += switch (m.group(2)) {
+                case "ms" -> amount * 1e6;
+                case "s" -> amount * 1e9;
+                case "m" -> amount * 60e9;
+                default -> amount * 3600e9;
+            };
+        }
+        return (long) nanos;
+    }
+}
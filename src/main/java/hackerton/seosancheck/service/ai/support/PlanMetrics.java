@@ -0,0 +1,71 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.model.ai.TravelConditions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 코스 생성 파이프라인 단계별 시간과 요청 결과.
+ * - ai.plan.stage{stage, area}: conditions / candidates / openai / parse / repair 단계별 시간 (히스토그램)
+ * - ai.plan.request{source, area, theme, fallback}: 요청 전체 시간, source = pool|cache|generated|stream|empty
+ *   태그 조합이 수백 개라 히스토그램은 두지 않음 (count/sum/max 만, 백분위는 ai.plan.stage 로 본다)
+ * 태그 값은 정해진 목록으로만 (지역·테마 외 값은 other) 제한해 카디널리티를 고정한다.
+ */
+@Component
+public class PlanMetrics {
+
+    private static final Set<String> AREAS = Set.of("바다", "내륙");
+
+    private final MeterRegistry registry;
+
+    public PlanMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public <T> T stage(String stage, String area, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return body.get();
+        } finally {
+            stop(sample, stage, area);
+        }
+    }
+
+    public void stop(Timer.Sample sample, String stage, String area) {
+        sample.stop(Timer.builder("ai.plan.stage")
+                .description("코스 생성 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("area", areaTag(area))
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    /** 요청 하나가 끝났을 때 (conditions 는 null 일 수 있음) */
+    public void request(Timer.Sample sample, String source, TravelConditions conditions, boolean fallback) {
+        sample.stop(Timer.builder("ai.plan.request")
+                .description("코스 생성 요청 전체 소요 시간")
+                .tag("source", source)
+                .tag("area", areaTag((conditions == null) ? null : conditions.getArea()))
+                .tag("theme", themeTag((conditions == null) ? null : conditions.getTheme()))
+                .tag("fallback", String.valueOf(fallback))
+                .register(registry));
+    }
+
+    static String areaTag(String area) {
+        if (area == null || area.isBlank()) return "none";
+        return AREAS.contains(area) ? area : "other";
+    }
+
+    static String themeTag(String theme) {
+        if (theme == null) return "none";
+        return ThemeClassifier.THEMES.contains(theme) ? theme : "other";
+    }
+}
@@ -0,0 +1,49 @@
+package hackerton.seosancheck.service.ai.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hackerton.seosancheck.model.ai.AiPlanPayload;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/** 코스 생성 응답 content({ "plans": [...] }) 를 AiPlanPayload.Plan 단위로 읽는다 */
+@Slf4j
+public final class PlanPayloadReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader PLAN_READER = MAPPER.readerFor(AiPlanPayload.Plan.class);
+
+    private PlanPayloadReader() {
+    }
+
+    /**
+     * content 의 plans 배열을 plan 단위로 읽어 넘김 (JsonParser 로 한 번만 훑음).
+     * 토큰 한도로 잘린 응답이어도 그 앞까지 완성된 plan 은 살린다.
+     */
+    public static void readPlans(String content, Consumer<AiPlanPayload.Plan> onPlan) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && "plans".equals(parser.currentName())
+                        && parser.nextToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        onPlan.accept(PLAN_READER.readValue(parser));
+                    }
+                    return;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("plans 파싱 중단 (앞부분만 사용): {}", e.getOriginalMessage());
+        }
+    }
+
+    /** 스트리밍에서 잘라낸 plan 객체 하나 */
+    public static AiPlanPayload.Plan readPlan(String json) throws IOException {
+        return PLAN_READER.readValue(json);
+    }
+}
@@ -0,0 +1,60 @@
+package hackerton.seosancheck.service.ai.support;
+
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍으로 들어오는 { "plans": [ {...}, {...} ] } 응답을 조각 단위로 받아
+ * plan 객체 하나가 닫히는 즉시 그 JSON 문자열을 넘겨준다.
+ * 문자열 안의 중괄호/이스케이프는 건너뛰고, 최상위 객체 바로 아래(깊이 2)의 객체만 plan 으로 본다.
+ */
+public final class PlanStreamParser {
+
+    private final Consumer<String> onPlan;
+    private final StringBuilder current = new StringBuilder();
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private int emitted;
+
+    public PlanStreamParser(Consumer<String> onPlan) {
+        this.onPlan = onPlan;
+    }
+
+    public void feed(String chunk) {
+        if (chunk == null) return;
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (depth >= 2) current.append(c);
+
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (c == '\\') escaped = true;
+                else if (c == '"') inString = false;
+                continue;
+            }
+
+            if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+                if (depth == 2) {
+                    current.setLength(0);
+                    current.append(c);
+                }
+            } else if (c == '}' && depth > 0) {
+                depth--;
+                if (depth == 1) {
+                    emitted++;
+                    onPlan.accept(current.toString());
+                    current.setLength(0);
+                }
+            }
+        }
+    }
+
+    /** 지금까지 넘겨준 plan 수 */
+    public int emitted() {
+        return emitted;
+    }
+}
@@ -0,0 +1,196 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 코스 생성 요청 본문을 만든다.
+ * 규칙은 미리 만들어 둔 고정 system 메시지(매 요청 같은 앞부분이라 OpenAI 프롬프트 캐시에도 유리)로,
+ * 후보는 짧은 번호(P1.., S1..)로 보내고 모델도 번호만 돌려주게 해 입력/출력 토큰을 줄인다.
+ * 번호는 후보 목록의 위치라 따로 저장하지 않고 resolve 로 되돌린다.
+ * 추정 토큰이 max-tokens 를 넘으면 뒤쪽 후보부터 뺀다 (관광지 3 · 가게 2 는 항상 유지).
+ */
+@Component
+public class PromptCompiler {
+
+    public static final char PLACE_PREFIX = 'P';
+    public static final char STORE_PREFIX = 'S';
+
+    private static final String MODEL = "gpt-4o-mini";
+    private static final int MIN_PLACES = 3;
+    private static final int MIN_STORES = 2;
+
+    private static final String SYSTEM = """
+            당신은 서산 여행 코디네이터입니다. 주어진 조건과 후보로 서로 다른 여행 코스 3개를 만듭니다.
+            규칙:
+            1) 각 코스는 정확히 5곳, 순서는 관광지(P) → 가게(S) → 관광지(P) → 관광지(P) → 가게(S).
+            2) ref 에는 후보 번호(P1, S2 …)만 씁니다. 목록에 없는 번호는 쓰지 않고, 모자라면 중복 선택해서라도 5곳을 채웁니다.
+            3) description 은 30자 이상으로 자세히, 테마와 동행을 반드시 언급합니다.
+            4) summary 는 장소 특징을 담은 감성적인 한 문장, 16자 내외.
+            """;
+
+    private static final int SYSTEM_TOKENS = estimateTokens(SYSTEM);
+
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary trimmedCandidates;
+
+    @Value("${ai.prompt.max-tokens:1500}")
+    private int maxTokens;
+
+    public PromptCompiler(MeterRegistry registry) {
+        this.promptTokens = DistributionSummary.builder("ai.prompt.estimated.tokens")
+                .description("코스 생성 프롬프트 추정 토큰 수")
+                .register(registry);
+        this.trimmedCandidates = DistributionSummary.builder("ai.prompt.trimmed.candidates")
+                .description("토큰 예산 때문에 뺀 후보 수")
+                .register(registry);
+    }
+
+    /** 요청 본문과 모델이 쓸 수 있는 번호 목록 */
+    public record CompiledPrompt(Map<String, Object> requestBody, List<String> refs, int estimatedTokens) {
+    }
+
+    public CompiledPrompt compile(TravelConditions cond, List<TouristPlace> places, List<Store> stores) {
+        StringBuilder head = new StringBuilder(64)
+                .append("지역: ").append(orUndecided(cond.getArea()))
+                .append(" / 테마: ").append(orUndecided(cond.getTheme()))
+                .append(" / 동행: ").append(orUndecided(cond.getCompanion()))
+                .append(" / 기간: ").append(orUndecided(cond.getDuration())).append('\n');
+
+        List<String> placeLines = new ArrayList<>(places.size());
+        for (int i = 0; i < places.size(); i++) {
+            TouristPlace p = places.get(i);
+            placeLines.add(PLACE_PREFIX + String.valueOf(i + 1) + ' ' + p.getName()
+                    + " (" + orUndecided(p.getArea()) + ")\n");
+        }
+        List<String> storeLines = new ArrayList<>(stores.size());
+        for (int i = 0; i < stores.size(); i++) {
+            Store s = stores.get(i);
+            String tag = (s.getTag() != null && !s.getTag().isBlank()) ? s.getTag() : "일반";
+            storeLines.add(STORE_PREFIX + String.valueOf(i + 1) + ' ' + s.getName() + " (" + tag + ")\n");
+        }
+
+        // 최소 개수는 무조건, 나머지는 관광지/가게를 번갈아 예산이 허락하는 만큼
+        int budget = maxTokens - SYSTEM_TOKENS - estimateTokens(head) - 20;
+        int keepPlaces = Math.min(MIN_PLACES, placeLines.size());
+        int keepStores = Math.min(MIN_STORES, storeLines.size());
+        for (int i = 0; i < keepPlaces; i++) budget -= estimateTokens(placeLines.get(i));
+        for (int i = 0; i < keepStores; i++) budget -= estimateTokens(storeLines.get(i));
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            if (keepPlaces < placeLines.size() && estimateTokens(placeLines.get(keepPlaces)) <= budget) {
+                budget -= estimateTokens(placeLines.get(keepPlaces++));
+                grew = true;
+            }
+            if (keepStores < storeLines.size() && estimateTokens(storeLines.get(keepStores)) <= budget) {
+                budget -= estimateTokens(storeLines.get(keepStores++));
+                grew = true;
+            }
+        }
+
+        StringBuilder user = new StringBuilder(head).append("[관광지]\n");
+        List<String> refs = new ArrayList<>(keepPlaces + keepStores);
+        for (int i = 0; i < keepPlaces; i++) {
+            user.append(placeLines.get(i));
+            refs.add(PLACE_PREFIX + String.valueOf(i + 1));
+        }
+        user.append("[가게]\n");
+        for (int i = 0; i < keepStores; i++) {
+            user.append(storeLines.get(i));
+            refs.add(STORE_PREFIX + String.valueOf(i + 1));
+        }
+
+        int estimated = SYSTEM_TOKENS + estimateTokens(user);
+        promptTokens.record(estimated);
+        trimmedCandidates.record((places.size() - keepPlaces) + (stores.size() - keepStores));
+
+        Map<String, Object> body = ordered(
+                "model", MODEL,
+                "messages", List.of(
+                        ordered("role", "system", "content", SYSTEM),
+                        ordered("role", "user", "content", user.toString())),
+                "temperature", 0.2,
+                "response_format", responseFormat(refs));
+        return new CompiledPrompt(body, List.copyOf(refs), estimated);
+    }
+
+    /** 모델이 돌려준 번호 → 후보 (P3 → places[2]), 형식이 다르거나 범위 밖이면 null */
+    public static <T> T resolve(String ref, char prefix, List<T> candidates) {
+        if (ref == null || ref.length() < 2 || Character.toUpperCase(ref.charAt(0)) != prefix) return null;
+        try {
+            int index = Integer.parseInt(ref.substring(1).trim()) - 1;
+            return (index >= 0 && index < candidates.size()) ? candidates.get(index) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * structured output(json_schema, strict) 으로 AiPlanPayload 모양의 JSON 만 받는다.
+     * ref 는 이번에 보낸 번호 enum 이라 목록 밖 장소가 나오지 않는다.
+     * 모델은 스키마의 속성 순서대로 출력하므로 순서가 유지되는 맵으로 (summary 가 course 보다 먼저).
+     */
+    private static Map<String, Object> responseFormat(List<String> refs) {
+        Map<String, Object> courseItem = ordered(
+                "type", "object",
+                "properties", ordered(
+                        "order", ordered("type", "integer"),
+                        "ref", ordered("type", "string", "enum", refs),
+                        "description", ordered("type", "string")),
+                "required", List.of("order", "ref", "description"),
+                "additionalProperties", false);
+        Map<String, Object> plan = ordered(
+                "type", "object",
+                "properties", ordered(
+                        "summary", ordered("type", "string"),
+                        "course", ordered("type", "array", "items", courseItem)),
+                "required", List.of("summary", "course"),
+                "additionalProperties", false);
+        Map<String, Object> schema = ordered(
+                "type", "object",
+                "properties", ordered("plans", ordered("type", "array", "items", plan)),
+                "required", List.of("plans"),
+                "additionalProperties", false);
+
+        return ordered(
+                "type", "json_schema",
+                "json_schema", ordered("name", "travel_plans", "strict", true, "schema", schema));
+    }
+
+    /**
+     * 토큰 수 추정: ASCII 는 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰 (o200k 기준 한글은 보통 이보다 적게 든다).
+     * 예산 판단용이라 넉넉하게 잡는다.
+     */
+    static int estimateTokens(CharSequence text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) ascii++;
+            else other++;
+        }
+        return other + (ascii + 3) / 4;
+    }
+
+    private static String orUndecided(String value) {
+        return (value == null || value.isBlank()) ? "미정" : value;
+    }
+
+    private static Map<String, Object> ordered(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,140 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.common.geo.GeoUtils;
+import hackerton.seosancheck.model.ai.TravelItem;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 코스 방문 순서를 이동 거리가 가장 짧게 다시 잡는다 (LLM 이 준 order 대신).
+ * 관광지 3 + 가게 2 면 관광지 → 가게 → 관광지 → 관광지 → 가게 자리에, 아니면 지금의 타입 순서 자리에
+ * 같은 타입끼리만 바꿔 넣어 보는 완전 탐색 (5곳이면 최대 3!·2! = 12 가지, 가지치기 포함).
+ * 거리는 직선(haversine) 거리이고, 좌표가 없는 장소가 있으면 순서는 그대로 두고 거리만 계산한다.
+ */
+public final class RouteOptimizer {
+
+    private static final String PLACE = "관광지";
+    private static final String STORE = "가게";
+    private static final List<String> SLOT_PATTERN = List.of(PLACE, STORE, PLACE, PLACE, STORE);
+
+    // 이보다 긴 코스는 탐색하지 않음 (코스는 항상 5곳이라 안전장치)
+    private static final int MAX_EXACT = 8;
+
+    private RouteOptimizer() {
+    }
+
+    /** 순서를 정하고 order(1..N)·구간 거리·총 거리를 채운 코스 */
+    public static TravelPlanResponse route(String summary, List<TravelItem> course) {
+        List<TravelItem> ordered = hasCoordinates(course) && course.size() <= MAX_EXACT
+                ? reorder(course)
+                : course;
+
+        List<TravelItem> result = new ArrayList<>(ordered.size());
+        double total = 0;
+        boolean measured = false;
+        TravelItem prev = null;
+        for (TravelItem item : ordered) {
+            Double leg = (prev == null) ? null : distance(prev, item);
+            if (leg != null) {
+                total += leg;
+                measured = true;
+            }
+            result.add(new TravelItem(result.size() + 1, item.getId(), item.getType(), item.getName(),
+                    item.getDescription(), item.getAddress(), item.getLatitude(), item.getLongitude(),
+                    item.getImageUrl(), item.getTag(), (leg == null) ? null : round(leg)));
+            prev = item;
+        }
+        return new TravelPlanResponse(summary, result, measured ? round(total) : null);
+    }
+
+    private static List<TravelItem> reorder(List<TravelItem> course) {
+        int n = course.size();
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                dist[i][j] = dist[j][i] = GeoUtils.distanceKm(
+                        course.get(i).getLatitude(), course.get(i).getLongitude(),
+                        course.get(j).getLatitude(), course.get(j).getLongitude());
+            }
+        }
+
+        List<String> slots = slotsFor(course);
+        Search search = new Search(course, slots, dist);
+        search.run(0, -1, 0);
+        if (search.best == null) return course;
+
+        List<TravelItem> ordered = new ArrayList<>(n);
+        for (int idx : search.best) ordered.add(course.get(idx));
+        return ordered;
+    }
+
+    // 관광지 3 · 가게 2 면 정해진 패턴, 아니면 현재 타입 순서를 그대로 자리로 씀
+    private static List<String> slotsFor(List<TravelItem> course) {
+        long stores = course.stream().filter(i -> STORE.equals(i.getType())).count();
+        long places = course.stream().filter(i -> PLACE.equals(i.getType())).count();
+        if (course.size() == SLOT_PATTERN.size() && stores == 2 && places == 3) {
+            return SLOT_PATTERN;
+        }
+        return course.stream().map(TravelItem::getType).toList();
+    }
+
+    /** 자리마다 같은 타입의 남은 장소를 넣어 보며 가장 짧은 경로를 찾는 분기 한정 탐색 */
+    private static final class Search {
+        private final List<TravelItem> course;
+        private final List<String> slots;
+        private final double[][] dist;
+        private final int[] path;
+        private final boolean[] used;
+
+        private int[] best;
+        private double bestLength = Double.POSITIVE_INFINITY;
+
+        Search(List<TravelItem> course, List<String> slots, double[][] dist) {
+            this.course = course;
+            this.slots = slots;
+            this.dist = dist;
+            this.path = new int[course.size()];
+            this.used = new boolean[course.size()];
+        }
+
+        void run(int slot, int last, double length) {
+            if (length >= bestLength) return;
+            if (slot == path.length) {
+                bestLength = length;
+                best = path.clone();
+                return;
+            }
+            String type = slots.get(slot);
+            for (int i = 0; i < course.size(); i++) {
+                if (used[i] || !Objects.equals(type, course.get(i).getType())) continue;
+                used[i] = true;
+                path[slot] = i;
+                run(slot + 1, i, (last < 0) ? 0 : length + dist[last][i]);
+                used[i] = false;
+            }
+        }
+    }
+
+    private static boolean hasCoordinates(List<TravelItem> course) {
+        for (TravelItem item : course) {
+            if (item.getLatitude() == null || item.getLongitude() == null) return false;
+        }
+        return true;
+    }
+
+    private static Double distance(TravelItem a, TravelItem b) {
+        if (a.getLatitude() == null || a.getLongitude() == null
+                || b.getLatitude() == null || b.getLongitude() == null) {
+            return null;
+        }
+        return GeoUtils.distanceKm(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+    }
+
+    // 소수 둘째 자리(10m)까지
+    private static double round(double km) {
+        return Math.round(km * 100) / 100.0;
+    }
+}
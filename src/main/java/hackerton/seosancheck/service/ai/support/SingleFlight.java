@@ -0,0 +1,105 @@
+package hackerton.seosancheck.service.ai.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 같은 키로 동시에 들어온 호출을 하나로 합친다 (in-flight 중복 제거).
+ * 첫 요청이 작업을 executor 에 올리고, 끝나기 전에 들어온 같은 키 요청은 그 결과를 같이 받는다.
+ * 작업은 특정 요청 스레드에 묶이지 않으므로 한 요청이 취소돼도 나머지는 계속 기다리고,
+ * 기다리는 요청이 모두 떠나면 그때 작업을 interrupt 로 취소한다.
+ * 결과는 끝나는 즉시 맵에서 빠지므로 캐시가 아니다.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, ExecutorService executor, MeterRegistry registry) {
+        this.executor = executor;
+        this.executed = Counter.builder(name + ".singleflight")
+                .description("실제로 실행된 호출 수")
+                .tag("result", "executed")
+                .register(registry);
+        this.coalesced = Counter.builder(name + ".singleflight")
+                .description("진행 중인 호출에 합쳐져 생략된 호출 수")
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    public V execute(K key, Callable<V> call) {
+        Flight[] created = new Flight[1];
+        Flight flight = inFlight.compute(key, (k, existing) -> {
+            if (existing != null && existing.join()) return existing;
+            created[0] = new Flight(k, call);
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            executed.increment();
+            executor.execute(flight);
+        } else {
+            coalesced.increment();
+        }
+
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flight.leave();
+            throw new CancellationException("요청이 취소되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** 현재 진행 중인 키 수 */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private final class Flight extends FutureTask<V> {
+
+        private final K key;
+        private int waiters = 1;
+        private boolean abandoned;
+
+        Flight(K key, Callable<V> call) {
+            super(call);
+            this.key = key;
+        }
+
+        /** 기다리는 요청으로 합류 (이미 모두 떠나 취소 중이면 false) */
+        synchronized boolean join() {
+            if (abandoned) return false;
+            waiters++;
+            return true;
+        }
+
+        void leave() {
+            synchronized (this) {
+                if (--waiters > 0 || isDone()) return;
+                abandoned = true;
+            }
+            // 락 밖에서 취소 (done() 의 맵 제거가 compute 와 엇갈려 교착되지 않도록)
+            cancel(true);
+        }
+
+        @Override
+        protected void done() {
+            inFlight.remove(key, this);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package hackerton.seosancheck.service.ai.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 한 요청 안의 독립 단계들을 동시에 돌리는 범위.
+ * try-with-resources 로 닫히면 끝나지 않은 단계를 모두 interrupt 로 취소하므로,
+ * 요청이 중간에 끝나거나(조기 반환·예외) 취소돼도 하위 작업이 남지 않는다.
+ * (Java 21 의 StructuredTaskScope 는 preview 라 같은 규칙을 Future 로 구현)
+ */
+public final class StageScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<Future<?>> forks = new ArrayList<>();
+
+    public StageScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <T> Future<T> fork(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        forks.add(future);
+        return future;
+    }
+
+    /** 단계 결과를 기다림. 단계의 예외는 그대로, 현재 스레드가 취소되면 CancellationException */
+    public <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("요청이 취소되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** deadline(System.nanoTime 기준)까지만 기다리고, 넘기면 단계를 취소하고 fallback */
+    public <T> T joinUntil(Future<T> future, long deadline, T fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("요청이 취소되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> fork : forks) {
+            if (!fork.isDone()) fork.cancel(true);
+        }
+    }
+}
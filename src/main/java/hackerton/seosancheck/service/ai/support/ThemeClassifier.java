@@ -0,0 +1,204 @@
+package hackerton.seosancheck.service.ai.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 키워드로 못 잡은 문장의 테마 분류.
+ * 1) 문장별 결과 캐시 → 2) 지난 AI 답변으로 학습한 문자 n-gram 나이브 베이즈 → 3) 마지막으로 AI 호출.
+ * AI 답변은 13개 라벨 중 하나로 맞춰서 로컬 모델 학습에 다시 쓴다.
+ * 캐시는 실제 답변(라벨 또는 '해당 없음')만 저장하고, 호출 실패·무응답·interrupt 는 저장하지 않아 다음 요청에서 다시 묻는다.
+ */
+@Slf4j
+@Component
+public class ThemeClassifier {
+
+    public static final List<String> THEMES = List.of(
+            "감성적인", "힐링", "먹방", "인생샷", "역사", "문화", "생태",
+            "자연", "체험", "로맨틱", "포토스팟", "바쁜", "정신없는"
+    );
+
+    private static final String NONE = ""; // AI 가 테마 없음이라고 답한 문장도 캐시해서 다시 부르지 않음
+
+    private final Cache<String, String> cache;
+    private final NgramModel model = new NgramModel();
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    @Value("${ai.theme.local-min-samples:30}")
+    private int localMinSamples;
+
+    @Value("${ai.theme.local-confidence:0.8}")
+    private double localConfidence;
+
+    public ThemeClassifier(MeterRegistry registry,
+                           @Value("${ai.theme.cache-size:5000}") long cacheSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(Duration.ofHours(12))
+                .build();
+        for (String source : List.of("cache", "local", "remote", "none", "rejected", "error")) {
+            counters.put(source, Counter.builder("ai.theme.classify")
+                    .description("테마 분류 결과 출처")
+                    .tag("source", source)
+                    .register(registry));
+        }
+    }
+
+    /** @param remote AI 에 테마를 물어보는 호출 (실패하면 예외, 답이 없으면 null. 둘 다 이번엔 테마 미정으로 보고 캐시하지 않음) */
+    public String classify(String sentence, Supplier<String> remote) {
+        String key = normalize(sentence);
+        if (key.isEmpty()) return null;
+
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            counters.get("cache").increment();
+            return cached.isEmpty() ? null : cached;
+        }
+
+        if (model.documents() >= localMinSamples) {
+            NgramModel.Prediction p = model.predict(key);
+            if (p != null && p.probability() >= localConfidence) {
+                counters.get("local").increment();
+                cache.put(key, p.label());
+                return p.label();
+            }
+        }
+
+        String answer;
+        try {
+            answer = remote.get();
+        } catch (OpenAiConcurrencyLimiter.RejectedException | OpenAiCircuitBreaker.OpenException e) {
+            // 부하를 덜려고 보내지 않은 호출 → 이번엔 답이 없을 뿐이니 오류로 남기지 않고 다음 요청에서 다시 물음
+            counters.get("rejected").increment();
+            log.debug("테마 추론 호출 거절: {}", e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            counters.get("error").increment();
+            log.warn("테마 추론 실패, 테마 미정으로 진행: {}", e.toString());
+            return null;
+        }
+        // 무응답이거나 기다리던 중 취소된 호출은 실제 답이 아니므로 캐시/학습하지 않음
+        if (answer == null || Thread.currentThread().isInterrupted()) {
+            counters.get("error").increment();
+            return null;
+        }
+
+        String label = toLabel(answer);
+        if (label != null) {
+            counters.get("remote").increment();
+            model.learn(key, label);
+        } else {
+            counters.get("none").increment();
+        }
+        cache.put(key, (label == null) ? NONE : label);
+        return label;
+    }
+
+    /** AI 답변을 13개 라벨 중 하나로 맞춤 (따옴표·마침표 등이 붙어 와도 포함 여부로 판단) */
+    static String toLabel(String answer) {
+        if (answer == null) return null;
+        String a = answer.trim();
+        if (THEMES.contains(a)) return a;
+        for (String theme : THEMES) {
+            if (a.contains(theme)) return theme;
+        }
+        if (a.contains("감성")) return "감성적인";
+        return null;
+    }
+
+    private static String normalize(String sentence) {
+        if (sentence == null) return "";
+        StringBuilder sb = new StringBuilder(sentence.length());
+        for (int i = 0; i < sentence.length(); i++) {
+            char c = sentence.charAt(i);
+            if (!Character.isWhitespace(c)) sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    /** 문자 2-gram/3-gram 다항 나이브 베이즈 (라벨 13개, 메모리 상에서만 학습) */
+    static final class NgramModel {
+
+        record Prediction(String label, double probability) {
+        }
+
+        private final Map<String, Map<String, Integer>> gramCounts = new HashMap<>(); // label → gram → count
+        private final Map<String, Integer> gramTotals = new HashMap<>();               // label → 총 gram 수
+        private final Map<String, Integer> docCounts = new HashMap<>();                // label → 학습 문장 수
+        private final Set<String> vocabulary = new HashSet<>();
+        private int documents;
+
+        synchronized int documents() {
+            return documents;
+        }
+
+        synchronized void learn(String text, String label) {
+            Map<String, Integer> counts = gramCounts.computeIfAbsent(label, k -> new HashMap<>());
+            int added = 0;
+            for (String gram : grams(text)) {
+                counts.merge(gram, 1, Integer::sum);
+                vocabulary.add(gram);
+                added++;
+            }
+            gramTotals.merge(label, added, Integer::sum);
+            docCounts.merge(label, 1, Integer::sum);
+            documents++;
+        }
+
+        synchronized Prediction predict(String text) {
+            if (docCounts.size() < 2) return null; // 라벨이 하나뿐이면 확률이 항상 1 이라 의미 없음
+            List<String> grams = grams(text);
+            if (grams.isEmpty()) return null;
+
+            int v = vocabulary.size();
+            String best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            Map<String, Double> scores = new HashMap<>();
+            for (Map.Entry<String, Integer> doc : docCounts.entrySet()) {
+                String label = doc.getKey();
+                Map<String, Integer> counts = gramCounts.get(label);
+                double denom = gramTotals.get(label) + v;
+                double score = Math.log((double) doc.getValue() / documents);
+                for (String gram : grams) {
+                    score += Math.log((counts.getOrDefault(gram, 0) + 1) / denom);
+                }
+                scores.put(label, score);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = label;
+                }
+            }
+
+            // log-sum-exp 로 사후확률 계산
+            double sum = 0;
+            for (double score : scores.values()) {
+                sum += Math.exp(score - bestScore);
+            }
+            return new Prediction(best, 1.0 / sum);
+        }
+
+        private static List<String> grams(String text) {
+            List<String> grams = new ArrayList<>(text.length() * 2);
+            for (int n = 2; n <= 3; n++) {
+                for (int i = 0; i + n <= text.length(); i++) {
+                    grams.add(text.substring(i, i + n));
+                }
+            }
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hackerton.seosancheck.service.ai.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 생성된 여행 코스 캐시.
+ * 키 = 정규화된 조건(지역/테마/동행/기간), seed 요청이면 seed 까지.
+ * seed 없는 요청은 시작점·후보를 매번 무작위로 뽑으므로 후보 id 를 키에 넣으면 거의 맞지 않는다.
+ * 같은 조건이면 어느 시작점에서 만든 코스든 올바른 답이라 조건만으로 공유하고,
+ * seed 요청은 seed 가 같으면 후보도 같으므로 seed 로 구분한다.
+ * TTL·최대 크기로 제한하고, import 로 카탈로그가 바뀌면 전부 비운다.
+ */
+@Slf4j
+@Component
+public class TravelPlanCache {
+
+    private final Cache<String, List<TravelPlanResponse>> cache;
+
+    public TravelPlanCache(MeterRegistry registry,
+                           @Value("${ai.plan-cache.max-size:1000}") long maxSize,
+                           @Value("${ai.plan-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions 등
+        CaffeineCacheMetrics.monitor(registry, cache, "travelPlan");
+    }
+
+    public static String key(TravelConditions cond, Long seed) {
+        return (seed == null) ? conditionsKey(cond) : conditionsKey(cond) + "|seed=" + seed;
+    }
+
+    /** 후보를 빼고 정규화된 조건만으로 만든 키 */
+    public static String conditionsKey(TravelConditions cond) {
+        return normalize(cond.getArea()) + '|' + normalize(cond.getTheme()) + '|'
+                + normalize(cond.getCompanion()) + '|' + normalize(cond.getDuration());
+    }
+
+    public List<TravelPlanResponse> get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, List<TravelPlanResponse> plans) {
+        cache.put(key, List.copyOf(plans));
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        cache.invalidateAll();
+        log.info("카탈로그 변경({})으로 여행 코스 캐시를 비웠습니다.", event.getTarget());
+    }
+
+    private static String normalize(String value) {
+        return (value == null) ? "-" : value.replaceAll("\\s+", "");
+    }
+}
@@ -0,0 +1,115 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조건 조합(지역/테마/동행/기간)별로 미리 만들어 둔 코스 묶음.
+ * 조합마다 최대 size-per-key 개를 들고 돌려가며 내주고, 새로 만들면 가장 오래된 것을 밀어낸다.
+ * 채우는 쪽은 TravelPlanPoolRefresher, import 로 카탈로그가 바뀌면 전부 비운다.
+ */
+@Slf4j
+@Component
+public class TravelPlanPool {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${ai.plan-pool.size-per-key:3}")
+    private int sizePerKey;
+
+    public TravelPlanPool(MeterRegistry registry) {
+        this.hits = Counter.builder("ai.plan.pool").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("ai.plan.pool").tag("result", "miss").register(registry);
+        Gauge.builder("ai.plan.pool.keys", slots, Map::size)
+                .description("코스가 준비된 조건 조합 수")
+                .register(registry);
+    }
+
+    /** 준비된 코스 묶음 하나 (없으면 null) */
+    public List<TravelPlanResponse> take(TravelConditions conditions) {
+        Slot slot = slots.get(TravelPlanCache.conditionsKey(conditions));
+        List<TravelPlanResponse> plans = (slot == null) ? null : slot.next();
+        (plans == null ? misses : hits).increment();
+        return plans;
+    }
+
+    /** 카탈로그가 바뀔 때마다 증가, 바뀌기 전에 시작한 생성 결과를 버리는 데 사용 */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** generation 이 그 사이 바뀌었으면(카탈로그 변경) 버린다 */
+    public void add(TravelConditions conditions, List<TravelPlanResponse> plans, long generation) {
+        if (generation != this.generation.get()) return;
+        slots.computeIfAbsent(TravelPlanCache.conditionsKey(conditions), k -> new Slot())
+                .add(List.copyOf(plans), sizePerKey);
+    }
+
+    /** 갱신 우선순위용: 준비된 묶음 수 (없으면 0) */
+    public int count(TravelConditions conditions) {
+        Slot slot = slots.get(TravelPlanCache.conditionsKey(conditions));
+        return (slot == null) ? 0 : slot.size();
+    }
+
+    /** 갱신 우선순위용: 마지막으로 채운 시각 (없으면 EPOCH) */
+    public Instant refreshedAt(TravelConditions conditions) {
+        Slot slot = slots.get(TravelPlanCache.conditionsKey(conditions));
+        return (slot == null) ? Instant.EPOCH : slot.refreshedAt();
+    }
+
+    public int sizePerKey() {
+        return sizePerKey;
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        slots.clear();
+        log.info("카탈로그 변경({})으로 코스 풀을 비웠습니다.", event.getTarget());
+    }
+
+    private static final class Slot {
+
+        private final List<List<TravelPlanResponse>> sets = new ArrayList<>();
+        private int cursor;
+        private Instant refreshedAt = Instant.EPOCH;
+
+        synchronized List<TravelPlanResponse> next() {
+            if (sets.isEmpty()) return null;
+            cursor = (cursor + 1) % sets.size();
+            return sets.get(cursor);
+        }
+
+        synchronized void add(List<TravelPlanResponse> plans, int max) {
+            sets.add(plans);
+            while (sets.size() > max) sets.remove(0);
+            refreshedAt = Instant.now();
+        }
+
+        synchronized int size() {
+            return sets.size();
+        }
+
+        synchronized Instant refreshedAt() {
+            return refreshedAt;
+        }
+    }
+}
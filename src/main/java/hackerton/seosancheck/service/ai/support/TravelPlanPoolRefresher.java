@@ -0,0 +1,108 @@
+package hackerton.seosancheck.service.ai.support;
+
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.model.ai.TravelConditions;
+import hackerton.seosancheck.model.ai.TravelPlanResponse;
+import hackerton.seosancheck.service.ai.AiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 코스 풀을 백그라운드에서 채운다.
+ * 지역 × 테마(+미정) × 동행 × 기간 조합 중 덜 채워지고 오래된 것부터 한 번에 batch 개씩 생성하므로
+ * OpenAI 호출량은 refresh-interval 당 batch 회로 고정된다. import 직후엔 바로 한 번 돈다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TravelPlanPoolRefresher {
+
+    private final AiService aiService;
+    private final TravelPlanPool travelPlanPool;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${ai.plan-pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.plan-pool.batch:4}")
+    private int batch;
+
+    @Value("${ai.plan-pool.areas:바다,내륙}")
+    private String[] areas;
+
+    @Value("${ai.plan-pool.companions:미정,가족,친구,연인,혼자}")
+    private String[] companions;
+
+    @Value("${ai.plan-pool.durations:당일치기}")
+    private String[] durations;
+
+    @Scheduled(initialDelayString = "${ai.plan-pool.initial-delay-ms:30000}",
+            fixedDelayString = "${ai.plan-pool.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+        try {
+            List<TravelConditions> targets = combinations().stream()
+                    .sorted(Comparator.comparingInt(travelPlanPool::count)
+                            .thenComparing(travelPlanPool::refreshedAt))
+                    .limit(batch)
+                    .toList();
+
+            int filled = 0;
+            for (TravelConditions cond : targets) {
+                if (Thread.currentThread().isInterrupted()) break;
+                try {
+                    long generation = travelPlanPool.generation();
+                    List<TravelPlanResponse> plans = aiService.generatePlansFor(cond);
+                    if (plans != null) {
+                        travelPlanPool.add(cond, plans, generation);
+                        filled++;
+                    }
+                } catch (Exception e) {
+                    log.warn("코스 풀 생성 실패: {}", TravelPlanCache.conditionsKey(cond), e);
+                }
+            }
+            log.debug("[plan-pool] {}/{} 조합 갱신", filled, targets.size());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 풀은 TravelPlanPool 이 먼저 비우고, 여기서는 다음 주기를 기다리지 않고 다시 채우기 시작
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (enabled) {
+            Thread.ofVirtual().name("plan-pool-refresh").start(this::refresh);
+        }
+    }
+
+    private List<TravelConditions> combinations() {
+        List<String> themes = new ArrayList<>(ThemeClassifier.THEMES);
+        themes.add(null); // 테마 미정
+        List<TravelConditions> result = new ArrayList<>();
+        for (String area : areas) {
+            for (String theme : themes) {
+                for (String companion : companions) {
+                    for (String duration : durations) {
+                        result.add(TravelConditions.builder()
+                                .area(area)
+                                .theme(theme)
+                                .companion(companion)
+                                .duration(duration)
+                                .build());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package hackerton.seosancheck.service.importjob;
+
+import hackerton.seosancheck.model.importjob.ImportJob;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportJobService {
+
+    // 업로드 파일을 임시 파일로 받아 두고 바로 작업을 반환한다 (실제 import 는 백그라운드)
+    <T> ImportJob submit(MultipartFile file, ImportTask<T> task);
+
+    ImportJob getJob(String id);
+}
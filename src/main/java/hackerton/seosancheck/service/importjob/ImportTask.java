@@ -0,0 +1,27 @@
+package hackerton.seosancheck.service.importjob;
+
+import java.util.List;
+
+/** 테이블별 import 방법. ImportJobService 가 파싱/적재 파이프라인에서 호출한다. */
+public interface ImportTask<T> {
+
+    String name();
+
+    // 엑셀에서 읽을 열 개수
+    int columns();
+
+    // 헤더를 제외한 한 행 → 엔티티 (예외 시 해당 행만 오류로 집계)
+    T mapRow(String[] cells);
+
+    // staging 준비
+    void prepare();
+
+    // 여러 insert 워커가 동시에 호출한다
+    void insertChunk(List<T> chunk);
+
+    // staging → 운영 테이블 교체
+    void commit();
+
+    // 성공/실패와 관계없이 마지막에 한 번 호출
+    void cleanup();
+}
@@ -0,0 +1,179 @@
+package hackerton.seosancheck.service.importjob.impl;
+
+import hackerton.seosancheck.common.excel.StreamingExcelReader;
+import hackerton.seosancheck.model.importjob.ImportJob;
+import hackerton.seosancheck.service.importjob.ImportJobService;
+import hackerton.seosancheck.service.importjob.ImportTask;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 엑셀 import 를 백그라운드 작업으로 실행한다.
+ * 작업 스레드가 SAX 로 행을 읽어 chunk 를 bounded queue 에 넣고(producer),
+ * insert 워커 여러 개가 queue 에서 꺼내 staging 테이블에 동시에 적재한다(consumer).
+ */
+@Slf4j
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    @Value("${import.workers:4}")
+    private int workers;
+
+    @Value("${import.queue-capacity:8}")
+    private int queueCapacity;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    // 작업 하나가 producer + insert 워커 workers 개를 쓰므로 플랫폼 스레드 풀 대신 가상 스레드 (대부분 DB I/O 대기)
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public <T> ImportJob submit(MultipartFile file, ImportTask<T> task) {
+        // 요청이 끝나면 MultipartFile 이 사라지므로 먼저 임시 파일로 받아 둔다
+        Path temp;
+        try (InputStream in = file.getInputStream()) {
+            temp = Files.createTempFile(task.name() + "-import-", ".xlsx");
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            throw new RuntimeException("엑셀 업로드 실패: " + e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), task.name());
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, temp, task));
+        return job;
+    }
+
+    @Override
+    public ImportJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    // 끝난 지 오래된 작업 정리
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    // 진행 중인 작업은 interrupt 로 멈추고, cleanup(staging 삭제)이 끝날 때까지 잠깐 기다림
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("[import] 종료 대기 시간 초과, 남은 작업을 버립니다.");
+        }
+    }
+
+    private <T> void run(ImportJob job, Path temp, ImportTask<T> task) {
+        BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        List<T> poison = new ArrayList<>(0); // 워커 종료 신호 (참조 비교)
+        AtomicBoolean insertFailed = new AtomicBoolean(false);
+        List<Future<?>> consumers = new ArrayList<>(workers);
+
+        try {
+            task.prepare();
+
+            for (int i = 0; i < workers; i++) {
+                consumers.add(executor.submit(() -> {
+                    try {
+                        while (true) {
+                            List<T> batch = queue.take();
+                            if (batch == poison) return;
+                            task.insertChunk(batch);
+                            job.addInserted(batch.size());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        insertFailed.set(true);
+                        throw e;
+                    }
+                }));
+            }
+
+            List<T> chunk = new ArrayList<>(BATCH_SIZE);
+            StreamingExcelReader.readFirstSheet(temp.toFile(), task.columns(), (rowNum, cells) -> {
+                if (rowNum == 0) return; // 헤더
+
+                try {
+                    chunk.add(task.mapRow(cells));
+                    job.addParsed();
+                } catch (RuntimeException e) {
+                    job.recordError((rowNum + 1) + "행: " + e.getMessage());
+                    return;
+                }
+                if (chunk.size() >= BATCH_SIZE) {
+                    enqueue(queue, new ArrayList<>(chunk), insertFailed);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                enqueue(queue, chunk, insertFailed);
+            }
+            for (int i = 0; i < workers; i++) {
+                enqueue(queue, poison, insertFailed);
+            }
+            for (Future<?> consumer : consumers) {
+                consumer.get();
+            }
+
+            task.commit();
+            job.succeed();
+            log.info("[import] {} 완료: {}건, 오류 {}건, {} rows/s",
+                    task.name(), job.getRowsInserted(), job.getErrorCount(), (long) job.getRowsPerSecond());
+
+        } catch (Exception e) {
+            consumers.forEach(c -> c.cancel(true));
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            job.fail("import 실패: " + cause.getMessage());
+            log.error("[import] {} 실패", task.name(), e);
+        } finally {
+            task.cleanup();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (Exception e) {
+                log.warn("임시 파일 삭제 실패: {}", temp, e);
+            }
+        }
+    }
+
+    // queue 가 가득 차면 기다리되, insert 워커가 죽었으면 더 기다리지 않고 중단
+    private static <T> void enqueue(BlockingQueue<List<T>> queue, List<T> chunk, AtomicBoolean insertFailed) {
+        try {
+            while (!queue.offer(chunk, 200, TimeUnit.MILLISECONDS)) {
+                if (insertFailed.get()) {
+                    throw new IllegalStateException("insert 워커 실패로 import 를 중단합니다.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import 가 중단되었습니다.", e);
+        }
+    }
+}
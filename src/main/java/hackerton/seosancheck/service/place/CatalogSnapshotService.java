@@ -0,0 +1,19 @@
+package hackerton.seosancheck.service.place;
+
+import hackerton.seosancheck.common.web.PreparedBody;
+
+public interface CatalogSnapshotService {
+
+    // 전체 목록 응답 (GET /api/store 의 기존 형태)
+    PreparedBody storeList();
+
+    // 단건 응답, 없으면 null
+    PreparedBody store(Long id);
+
+    PreparedBody touristPlaceList();
+
+    PreparedBody touristPlace(Long id);
+
+    // import 로 스냅샷을 다시 만들 때마다 증가
+    long version();
+}
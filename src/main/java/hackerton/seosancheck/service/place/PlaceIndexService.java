@@ -0,0 +1,27 @@
+package hackerton.seosancheck.service.place;
+
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+
+import java.util.List;
+
+public interface PlaceIndexService {
+
+    // 지역명(area 부분 일치)에 속한 관광지 중 하나를 균등하게 (TouristPlaceMapper.findRandomByArea 와 동일한 의미)
+    // seed 가 있으면 같은 스냅샷에서 항상 같은 결과, 없으면 null
+    TouristPlace pickRandomPlace(String area, Long seed);
+
+    // 반경 내 관광지 랜덤 n개 (TouristPlaceMapper.findNearbyPlacesIndexed 와 동일한 의미)
+    default List<TouristPlace> findNearbyPlaces(double latitude, double longitude, double radiusKm, int limit) {
+        return findNearbyPlaces(latitude, longitude, radiusKm, limit, null);
+    }
+
+    List<TouristPlace> findNearbyPlaces(double latitude, double longitude, double radiusKm, int limit, Long seed);
+
+    // 반경 내 식당 가까운 순 n개 (StoreMapper.findNearbyStoresIndexed 와 동일한 의미)
+    List<Store> findNearbyStores(double latitude, double longitude, double radiusKm, int limit);
+
+    void rebuildPlaces();
+
+    void rebuildStores();
+}
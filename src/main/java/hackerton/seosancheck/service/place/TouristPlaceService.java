@@ -1,15 +1,26 @@
 package hackerton.seosancheck.service.place;
 
+import hackerton.seosancheck.model.common.CursorPage;
+import hackerton.seosancheck.model.importjob.ImportJob;
 import hackerton.seosancheck.model.place.TouristPlace;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 public interface TouristPlaceService {
-    void importExcel(MultipartFile file);
+    // 백그라운드 import 작업을 시작하고 바로 반환
+    ImportJob importExcel(MultipartFile file);
 
     List<TouristPlace> getAll();
 
+    // keyset 페이지 (after 보다 큰 id 부터 limit 개, fields 로 컬럼 선택)
+    CursorPage<Map<String, Object>> getPage(Long after, Integer limit, String fields);
+
+    // 전체 행을 JSON 배열로 바로 흘려 씀 (fields 검증은 응답 시작 전에)
+    StreamingResponseBody export(String fields);
+
     TouristPlace getById(Long id);
 
     void clearAll();
@@ -0,0 +1,153 @@
+package hackerton.seosancheck.service.place.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.common.web.PreparedBody;
+import hackerton.seosancheck.mapper.place.StoreMapper;
+import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+import hackerton.seosancheck.service.place.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 가맹점/관광지 읽기 API 용 불변 스냅샷.
+ * 데이터는 import 때만 바뀌므로 그때(CatalogChangedEvent) 한 번 읽어 목록 JSON 과 gzip 을 미리 만들어 두고,
+ * 요청마다 DB 조회·직렬화 없이 바이트를 그대로 내보낸다. 단건 본문은 처음 요청될 때 만들어 스냅샷에 붙여 둔다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private final StoreMapper storeMapper;
+    private final TouristPlaceMapper touristPlaceMapper;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot<Store> stores;
+    private volatile Snapshot<TouristPlace> places;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuildStores();
+            rebuildPlaces();
+        } catch (Exception e) {
+            log.warn("카탈로그 스냅샷 초기 로딩 실패, 첫 요청 때 다시 시도합니다.", e);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getTarget()) {
+            case STORE -> rebuildStores();
+            case TOURIST_PLACE -> rebuildPlaces();
+        }
+    }
+
+    @Override
+    public PreparedBody storeList() {
+        return stores().list;
+    }
+
+    @Override
+    public PreparedBody store(Long id) {
+        return stores().item(id);
+    }
+
+    @Override
+    public PreparedBody touristPlaceList() {
+        return places().list;
+    }
+
+    @Override
+    public PreparedBody touristPlace(Long id) {
+        return places().item(id);
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    private Snapshot<Store> stores() {
+        Snapshot<Store> snapshot = stores;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (stores == null) rebuildStores();
+                snapshot = stores;
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot<TouristPlace> places() {
+        Snapshot<TouristPlace> snapshot = places;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (places == null) rebuildPlaces();
+                snapshot = places;
+            }
+        }
+        return snapshot;
+    }
+
+    private synchronized void rebuildStores() {
+        stores = new Snapshot<>(version.incrementAndGet(), storeMapper.selectAll(), Store::getId, objectMapper);
+        log.info("가맹점 스냅샷 갱신: v{}, {}건, {}KB", stores.version, stores.byId.size(), stores.listBytes / 1024);
+    }
+
+    private synchronized void rebuildPlaces() {
+        places = new Snapshot<>(version.incrementAndGet(), touristPlaceMapper.selectAll(), TouristPlace::getId, objectMapper);
+        log.info("관광지 스냅샷 갱신: v{}, {}건, {}KB", places.version, places.byId.size(), places.listBytes / 1024);
+    }
+
+    private static final class Snapshot<T> {
+
+        private final long version;
+        private final PreparedBody list;
+        private final int listBytes;
+        private final Map<Long, T> byId;
+        private final Map<Long, PreparedBody> itemBodies = new ConcurrentHashMap<>();
+        private final ObjectMapper objectMapper;
+
+        Snapshot(long version, List<T> items, Function<T, Long> idOf, ObjectMapper objectMapper) {
+            this.version = version;
+            this.objectMapper = objectMapper;
+            byte[] json = serialize(objectMapper, items);
+            this.list = PreparedBody.of(json, version);
+            this.listBytes = json.length;
+            Map<Long, T> map = new HashMap<>(items.size() * 2);
+            for (T item : items) map.put(idOf.apply(item), item);
+            this.byId = map;
+        }
+
+        PreparedBody item(Long id) {
+            T item = byId.get(id);
+            if (item == null) return null;
+            return itemBodies.computeIfAbsent(id, k -> PreparedBody.of(serialize(objectMapper, item), version));
+        }
+
+        private static byte[] serialize(ObjectMapper objectMapper, Object value) {
+            try {
+                return objectMapper.writeValueAsBytes(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("스냅샷 직렬화 실패", e);
+            }
+        }
+    }
+}
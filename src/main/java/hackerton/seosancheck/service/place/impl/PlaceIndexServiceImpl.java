@@ -0,0 +1,215 @@
+package hackerton.seosancheck.service.place.impl;
+
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.common.geo.GeoGrid;
+import hackerton.seosancheck.mapper.place.StoreMapper;
+import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.model.place.TouristPlace;
+import hackerton.seosancheck.service.place.PlaceIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * selectAll() 결과로 메모리 공간 인덱스를 만들어 근처 관광지/식당 조회를 처리한다.
+ * import 가 끝나면(CatalogChangedEvent) 새 인덱스를 만들어 통째로 교체한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceIndexServiceImpl implements PlaceIndexService {
+
+    private static final long START_SALT = 0x5DEECE66DL;
+    private static final long NEARBY_SALT = 0x9E3779B97F4A7C15L;
+
+    private final StoreMapper storeMapper;
+    private final TouristPlaceMapper touristPlaceMapper;
+
+    private volatile Indexed<TouristPlace> places;
+    private volatile Indexed<Store> restaurants;
+    private volatile AreaSampler areas;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuildPlaces();
+            rebuildStores();
+        } catch (Exception e) {
+            log.warn("공간 인덱스 초기 로딩 실패, 로딩 전까지 DB 인덱스 쿼리를 사용합니다.", e);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getTarget()) {
+            case STORE -> rebuildStores();
+            case TOURIST_PLACE -> rebuildPlaces();
+        }
+    }
+
+    @Override
+    public TouristPlace pickRandomPlace(String area, Long seed) {
+        AreaSampler sampler = areas;
+        if (sampler == null) {
+            List<TouristPlace> rows = touristPlaceMapper.findRandomByArea(area, 1);
+            return (rows == null || rows.isEmpty()) ? null : rows.get(0);
+        }
+        TouristPlace[] candidates = sampler.matching(area);
+        if (candidates.length == 0) return null;
+        return candidates[random(seed, START_SALT).nextInt(candidates.length)];
+    }
+
+    @Override
+    public List<TouristPlace> findNearbyPlaces(double latitude, double longitude, double radiusKm, int limit, Long seed) {
+        Indexed<TouristPlace> index = places;
+        if (index == null) {
+            return touristPlaceMapper.findNearbyPlacesIndexed(latitude, longitude, radiusKm, limit);
+        }
+
+        // 반경 내 후보 중 limit 개만 부분 셔플 (ORDER BY RANDOM() LIMIT n 과 동일)
+        int[] hits = index.grid.withinRadius(latitude, longitude, radiusKm);
+        int n = Math.min(limit, hits.length);
+        RandomGenerator random = random(seed, NEARBY_SALT);
+        List<TouristPlace> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(hits.length - i);
+            int tmp = hits[i];
+            hits[i] = hits[j];
+            hits[j] = tmp;
+            result.add(index.items.get(hits[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Store> findNearbyStores(double latitude, double longitude, double radiusKm, int limit) {
+        Indexed<Store> index = restaurants;
+        if (index == null) {
+            return storeMapper.findNearbyStoresIndexed(latitude, longitude, radiusKm, limit);
+        }
+
+        int[] hits = index.grid.nearest(latitude, longitude, radiusKm, limit);
+        List<Store> result = new ArrayList<>(hits.length);
+        for (int idx : hits) {
+            result.add(index.items.get(idx));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void rebuildPlaces() {
+        // id 순으로 고정해야 데이터가 같으면 재구성 후에도 seed 결과가 같다
+        List<TouristPlace> rows = new ArrayList<>(touristPlaceMapper.selectAll());
+        rows.sort(Comparator.comparing(TouristPlace::getId));
+        Indexed<TouristPlace> index = Indexed.of(rows, p -> true,
+                TouristPlace::getLatitude, TouristPlace::getLongitude);
+        places = index;
+        areas = AreaSampler.of(index.items);
+        log.info("관광지 공간 인덱스 갱신: {}건, 지역 {}개", index.items.size(), areas.byArea.size());
+    }
+
+    @Override
+    public synchronized void rebuildStores() {
+        restaurants = Indexed.of(storeMapper.selectAll(), PlaceIndexServiceImpl::isRestaurantTag,
+                Store::getLatitude, Store::getLongitude);
+        log.info("식당 공간 인덱스 갱신: {}건", restaurants.items.size());
+    }
+
+    // seed 가 없으면 스레드 난수, 있으면 단계별로 다른 고정 난수열 (시작점과 후보 셔플이 같은 수열을 쓰지 않도록 salt)
+    private static RandomGenerator random(Long seed, long salt) {
+        return (seed == null) ? ThreadLocalRandom.current() : new SplittableRandom(seed ^ salt);
+    }
+
+    // StoreMapper.findNearbyStoresInBox 의 tag ILIKE 조건과 동일
+    private static boolean isRestaurantTag(Store s) {
+        String tag = s.getTag();
+        return tag != null && (tag.contains("식") || tag.contains("집") || tag.contains("해산물"));
+    }
+
+    /**
+     * 지역값별 관광지 배열. findRandomByArea 의 area ILIKE '%q%' 와 같은 결과를
+     * 질의어마다 한 번만 모아 두고(지역값 종류는 몇 개뿐) 이후엔 배열에서 바로 뽑는다.
+     */
+    private static final class AreaSampler {
+        private static final int MAX_CACHED_QUERIES = 64;
+
+        private final Map<String, TouristPlace[]> byArea;
+        private final Map<String, TouristPlace[]> byQuery = new ConcurrentHashMap<>();
+
+        private AreaSampler(Map<String, TouristPlace[]> byArea) {
+            this.byArea = byArea;
+        }
+
+        static AreaSampler of(List<TouristPlace> items) {
+            Map<String, List<TouristPlace>> groups = new HashMap<>();
+            for (TouristPlace p : items) {
+                if (p.getArea() == null) continue;
+                groups.computeIfAbsent(p.getArea().toLowerCase(), k -> new ArrayList<>()).add(p);
+            }
+            Map<String, TouristPlace[]> byArea = new TreeMap<>();
+            groups.forEach((area, list) -> byArea.put(area, list.toArray(new TouristPlace[0])));
+            return new AreaSampler(byArea);
+        }
+
+        TouristPlace[] matching(String query) {
+            if (query == null) return new TouristPlace[0]; // ILIKE NULL 과 동일하게 매치 없음
+            String q = query.toLowerCase();
+            TouristPlace[] cached = byQuery.get(q);
+            if (cached != null) return cached;
+
+            List<TouristPlace> result = new ArrayList<>();
+            byArea.forEach((area, group) -> {
+                if (area.contains(q)) result.addAll(Arrays.asList(group));
+            });
+            TouristPlace[] matched = result.toArray(new TouristPlace[0]);
+            // 사용자 입력이 키가 되므로 캐시 크기는 제한
+            if (byQuery.size() < MAX_CACHED_QUERIES) byQuery.put(q, matched);
+            return matched;
+        }
+    }
+
+    /** 좌표가 있는 항목과 그 좌표로 만든 격자 인덱스 (불변) */
+    private static final class Indexed<T> {
+        private final List<T> items;
+        private final GeoGrid grid;
+
+        private Indexed(List<T> items, GeoGrid grid) {
+            this.items = items;
+            this.grid = grid;
+        }
+
+        static <T> Indexed<T> of(List<T> rows, Predicate<T> filter,
+                                 Function<T, Double> latOf, Function<T, Double> lonOf) {
+            List<T> items = new ArrayList<>(rows.size());
+            for (T row : rows) {
+                if (latOf.apply(row) != null && lonOf.apply(row) != null && filter.test(row)) {
+                    items.add(row);
+                }
+            }
+            double[] lat = new double[items.size()];
+            double[] lon = new double[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                lat[i] = latOf.apply(items.get(i));
+                lon[i] = lonOf.apply(items.get(i));
+            }
+            return new Indexed<>(List.copyOf(items), GeoGrid.build(lat, lon));
+        }
+    }
+}
@@ -1,85 +1,190 @@
 package hackerton.seosancheck.service.place.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.common.exception.CustomException;
+import hackerton.seosancheck.common.query.CursorJsonWriter;
+import hackerton.seosancheck.common.query.FieldProjection;
 import hackerton.seosancheck.mapper.place.StoreMapper;
+import hackerton.seosancheck.model.common.CursorPage;
+import hackerton.seosancheck.model.importjob.ImportJob;
 import hackerton.seosancheck.model.place.Store;
+import hackerton.seosancheck.service.importjob.ImportJobService;
+import hackerton.seosancheck.service.importjob.ImportTask;
 import hackerton.seosancheck.service.place.StoreService;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StoreServiceImpl implements StoreService {
 
+    private static final int COLUMNS = 10;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // 조회 가능한 필드 → 컬럼 (fields 파라미터 허용 목록)
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("id", "id");
+        FIELDS.put("name", "name");
+        FIELDS.put("address", "address");
+        FIELDS.put("detailAddress", "detail_address");
+        FIELDS.put("location", "location");
+        FIELDS.put("type", "type");
+        FIELDS.put("longitude", "longitude");
+        FIELDS.put("latitude", "latitude");
+        FIELDS.put("kindStore", "kind_store");
+        FIELDS.put("tag", "tag");
+    }
+
     private final StoreMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportJobService importJobService;
+    private final ObjectMapper objectMapper;
 
-    @Override
-    public void importExcel(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(inputStream)) {
-
-            mapper.deleteAll();
-
-            Sheet sheet = workbook.getSheetAt(0);
-            List<Store> storeList = new ArrayList<>();
-
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                Store store = new Store();
-                store.setName(getString(row.getCell(1)));
-                store.setAddress(getString(row.getCell(2)));
-                store.setDetailAddress(getString(row.getCell(3)));
-                store.setLocation(getString(row.getCell(4)));
-                store.setType(getString(row.getCell(5)));
-                store.setLongitude(getDouble(row.getCell(6)));
-                store.setLatitude(getDouble(row.getCell(7)));
-                store.setKindStore(getString(row.getCell(8)));
-                store.setTag(getString(row.getCell(9)));
-
-                storeList.add(store);
-            }
+    // 이 인스턴스 안에서 같은 테이블 import 동시 실행 방지 (작업 스레드에서 해제하므로 lock 대신 플래그)
+    // 다른 인스턴스와는 staging 테이블을 작업마다 따로 쓰고, 교체는 advisory lock 으로 직렬화한다
+    private final AtomicBoolean importing = new AtomicBoolean(false);
 
-            // 1000건 단위로 배치 insert
-            int batchSize = 1000;
-            for (int i = 0; i < storeList.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, storeList.size());
-                mapper.batchInsert(storeList.subList(i, end));
-            }
-
-        } catch (Exception e) {
-            throw new RuntimeException("엑셀 업로드 실패: " + e.getMessage());
+    @Override
+    public ImportJob importExcel(MultipartFile file) {
+        if (!importing.compareAndSet(false, true)) {
+            throw new CustomException("가맹점 데이터 업로드가 이미 진행 중입니다.", HttpStatus.CONFLICT);
+        }
+        try {
+            return importJobService.submit(file, new StoreImportTask());
+        } catch (RuntimeException e) {
+            importing.set(false);
+            throw e;
         }
     }
 
-
     @Override
     public List<Store> getAllStores() {
         return mapper.selectAll();
     }
 
+    @Override
+    public CursorPage<Map<String, Object>> getStorePage(Long after, Integer limit, String fields) {
+        int size = (limit == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Map<String, Object>> rows = mapper.selectPage(FieldProjection.select(FIELDS, fields), after, size);
+        Long next = (rows.size() < size) ? null : ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        return new CursorPage<>(rows, next);
+    }
+
+    @Override
+    public StreamingResponseBody exportStores(String fields) {
+        String columns = FieldProjection.select(FIELDS, fields);
+        return out -> {
+            // Cursor 는 커넥션이 열려 있는 동안만 읽을 수 있고, PostgreSQL 은 트랜잭션 안에서만 fetchSize 를 지킨다
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Cursor<Map<String, Object>> cursor = mapper.streamAll(columns)) {
+                        CursorJsonWriter.write(cursor, out, objectMapper);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
     @Override
     public Store getStoreById(Long id) {
         return mapper.selectById(id);
     }
 
-    private String getString(Cell cell) {
-        return cell == null ? "" : cell.toString().trim();
+    /** staging 테이블에 적재한 뒤 한 트랜잭션에서 운영 테이블과 교체한다 */
+    private class StoreImportTask implements ImportTask<Store> {
+
+        // 작업마다 고유한 staging 테이블 (UUID 16진수라 식별자로 그대로 써도 안전)
+        private final String staging = "store_staging_" + UUID.randomUUID().toString().replace("-", "");
+
+        @Override
+        public String name() {
+            return "store";
+        }
+
+        @Override
+        public int columns() {
+            return COLUMNS;
+        }
+
+        @Override
+        public Store mapRow(String[] cells) {
+            return toStore(cells);
+        }
+
+        @Override
+        public void prepare() {
+            // 운영 테이블은 그대로 두고 staging 테이블에 적재 (좌표 인덱스는 시작 시 GeoSchemaMigration 이 보장)
+            mapper.createStaging(staging);
+        }
+
+        @Override
+        public void insertChunk(List<Store> chunk) {
+            mapper.batchInsertStaging(staging, chunk);
+        }
+
+        @Override
+        public void commit() {
+            // 한 트랜잭션에서 교체: 커밋 전까지 조회는 기존 데이터를 그대로 보고, 실패하면 롤백된다
+            transactionTemplate.executeWithoutResult(status -> {
+                mapper.lockForSwap();
+                mapper.deleteAll();
+                mapper.copyFromStaging(staging);
+            });
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Target.STORE));
+        }
+
+        @Override
+        public void cleanup() {
+            try {
+                mapper.dropStaging(staging);
+            } catch (Exception e) {
+                log.warn("staging 테이블 정리 실패", e);
+            }
+            importing.set(false);
+        }
     }
 
-    private Double getDouble(Cell cell) {
-        return (cell == null || cell.toString().isEmpty()) ? null : Double.valueOf(cell.toString());
+    private Store toStore(String[] cells) {
+        Store store = new Store();
+        store.setName(cells[1]);
+        store.setAddress(cells[2]);
+        store.setDetailAddress(cells[3]);
+        store.setLocation(cells[4]);
+        store.setType(cells[5]);
+        store.setLongitude(getDouble(cells[6]));
+        store.setLatitude(getDouble(cells[7]));
+        store.setKindStore(cells[8]);
+        store.setTag(cells[9]);
+        return store;
     }
 
-}
+    private Double getDouble(String value) {
+        return value.isEmpty() ? null : Double.valueOf(value);
+    }
 
+}
@@ -1,69 +1,82 @@
 package hackerton.seosancheck.service.place.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.common.exception.CustomException;
+import hackerton.seosancheck.common.query.CursorJsonWriter;
+import hackerton.seosancheck.common.query.FieldProjection;
 import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import hackerton.seosancheck.model.common.CursorPage;
+import hackerton.seosancheck.model.importjob.ImportJob;
 import hackerton.seosancheck.model.place.TouristPlace;
+import hackerton.seosancheck.service.importjob.ImportJobService;
+import hackerton.seosancheck.service.importjob.ImportTask;
 import hackerton.seosancheck.service.place.TouristPlaceService;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.Double.parseDouble;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TouristPlaceServiceImpl implements TouristPlaceService {
 
-    private final TouristPlaceMapper mapper;
-
-    @Override
-    public void importExcel(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(inputStream)) {
-
-            mapper.deleteAll();
-
-            Sheet sheet = workbook.getSheetAt(0);
-            List<TouristPlace> places = new ArrayList<>();
-
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                TouristPlace place = new TouristPlace();
-                place.setName(getString(row.getCell(0))); // 관광명소명
-                place.setAddress(getString(row.getCell(1))); // 주소
-
-                String gps = getString(row.getCell(2)); // 위치(GPS)
-                if (gps.contains(",")) {
-                    String[] parts = gps.split(",");
-                    place.setLatitude(parseDouble(parts[0]));
-                    place.setLongitude(parseDouble(parts[1]));
-                }
+    private static final int COLUMNS = 8;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // 조회 가능한 필드 → 컬럼 (fields 파라미터 허용 목록)
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("id", "id");
+        FIELDS.put("name", "name");
+        FIELDS.put("address", "address");
+        FIELDS.put("latitude", "latitude");
+        FIELDS.put("longitude", "longitude");
+        FIELDS.put("description", "description");
+        FIELDS.put("referenceDate", "reference_date");
+        FIELDS.put("area", "area");
+        FIELDS.put("category", "category");
+        FIELDS.put("imageUrl", "image_url");
+    }
 
-                place.setDescription(getString(row.getCell(3)));    // 해설
-                place.setReferenceDate(getString(row.getCell(4)));  // 데이터 기준일자
-                place.setArea(getString(row.getCell(5)));           // 지역
-                place.setCategory(getString(row.getCell(6)));       // 관심사
-                place.setImageUrl(getString(row.getCell(7)));       // 이미지 URL
+    private final TouristPlaceMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportJobService importJobService;
+    private final ObjectMapper objectMapper;
 
-                places.add(place);
-            }
+    // 이 인스턴스 안에서 같은 테이블 import 동시 실행 방지 (작업 스레드에서 해제하므로 lock 대신 플래그)
+    // 다른 인스턴스와는 staging 테이블을 작업마다 따로 쓰고, 교체는 advisory lock 으로 직렬화한다
+    private final AtomicBoolean importing = new AtomicBoolean(false);
 
-            // 1000건 단위로 배치 insert
-            int batchSize = 1000;
-            for (int i = 0; i < places.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, places.size());
-                mapper.batchInsert(places.subList(i, end));
-            }
-
-        } catch (Exception e) {
-            throw new RuntimeException("엑셀 업로드 실패: " + e.getMessage());
+    @Override
+    public ImportJob importExcel(MultipartFile file) {
+        if (!importing.compareAndSet(false, true)) {
+            throw new CustomException("관광지 데이터 업로드가 이미 진행 중입니다.", HttpStatus.CONFLICT);
+        }
+        try {
+            return importJobService.submit(file, new TouristPlaceImportTask());
+        } catch (RuntimeException e) {
+            importing.set(false);
+            throw e;
         }
     }
 
@@ -72,6 +85,33 @@ public class TouristPlaceServiceImpl implements TouristPlaceService {
         return mapper.selectAll();
     }
 
+    @Override
+    public CursorPage<Map<String, Object>> getPage(Long after, Integer limit, String fields) {
+        int size = (limit == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Map<String, Object>> rows = mapper.selectPage(FieldProjection.select(FIELDS, fields), after, size);
+        Long next = (rows.size() < size) ? null : ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        return new CursorPage<>(rows, next);
+    }
+
+    @Override
+    public StreamingResponseBody export(String fields) {
+        String columns = FieldProjection.select(FIELDS, fields);
+        return out -> {
+            // Cursor 는 커넥션이 열려 있는 동안만 읽을 수 있고, PostgreSQL 은 트랜잭션 안에서만 fetchSize 를 지킨다
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Cursor<Map<String, Object>> cursor = mapper.streamAll(columns)) {
+                        CursorJsonWriter.write(cursor, out, objectMapper);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
     @Override
     public TouristPlace getById(Long id) {
         return mapper.selectById(id);
@@ -79,10 +119,92 @@ public class TouristPlaceServiceImpl implements TouristPlaceService {
 
     @Override
     public void clearAll() {
-        mapper.deleteAll();
+        // 진행 중인 import 와 겹치지 않게 같은 플래그를 잡고, 다른 인스턴스의 교체와는 advisory lock 으로 직렬화
+        if (!importing.compareAndSet(false, true)) {
+            throw new CustomException("관광지 데이터 업로드가 진행 중이라 삭제할 수 없습니다.", HttpStatus.CONFLICT);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                mapper.lockForSwap();
+                mapper.deleteAll();
+            });
+        } finally {
+            importing.set(false);
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Target.TOURIST_PLACE));
+    }
+
+    /** staging 테이블에 적재한 뒤 한 트랜잭션에서 운영 테이블과 교체한다 */
+    private class TouristPlaceImportTask implements ImportTask<TouristPlace> {
+
+        // 작업마다 고유한 staging 테이블 (UUID 16진수라 식별자로 그대로 써도 안전)
+        private final String staging = "tourist_place_staging_" + UUID.randomUUID().toString().replace("-", "");
+
+        @Override
+        public String name() {
+            return "tourist-place";
+        }
+
+        @Override
+        public int columns() {
+            return COLUMNS;
+        }
+
+        @Override
+        public TouristPlace mapRow(String[] cells) {
+            return toPlace(cells);
+        }
+
+        @Override
+        public void prepare() {
+            // 운영 테이블은 그대로 두고 staging 테이블에 적재 (좌표 인덱스는 시작 시 GeoSchemaMigration 이 보장)
+            mapper.createStaging(staging);
+        }
+
+        @Override
+        public void insertChunk(List<TouristPlace> chunk) {
+            mapper.batchInsertStaging(staging, chunk);
+        }
+
+        @Override
+        public void commit() {
+            // 한 트랜잭션에서 교체: 커밋 전까지 조회는 기존 데이터를 그대로 보고, 실패하면 롤백된다
+            transactionTemplate.executeWithoutResult(status -> {
+                mapper.lockForSwap();
+                mapper.deleteAll();
+                mapper.copyFromStaging(staging);
+            });
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Target.TOURIST_PLACE));
+        }
+
+        @Override
+        public void cleanup() {
+            try {
+                mapper.dropStaging(staging);
+            } catch (Exception e) {
+                log.warn("staging 테이블 정리 실패", e);
+            }
+            importing.set(false);
+        }
     }
 
-    private String getString(Cell cell) {
-        return cell == null ? "" : cell.toString().trim();
+    private TouristPlace toPlace(String[] cells) {
+        TouristPlace place = new TouristPlace();
+        place.setName(cells[0]); // 관광명소명
+        place.setAddress(cells[1]); // 주소
+
+        String gps = cells[2]; // 위치(GPS)
+        if (gps.contains(",")) {
+            String[] parts = gps.split(",");
+            place.setLatitude(parseDouble(parts[0]));
+            place.setLongitude(parseDouble(parts[1]));
+        }
+
+        place.setDescription(cells[3]);    // 해설
+        place.setReferenceDate(cells[4]);  // 데이터 기준일자
+        place.setArea(cells[5]);           // 지역
+        place.setCategory(cells[6]);       // 관심사
+        place.setImageUrl(cells[7]);       // 이미지 URL
+        return place;
     }
 }
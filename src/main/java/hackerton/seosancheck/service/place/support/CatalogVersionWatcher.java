@@ -0,0 +1,80 @@
+package hackerton.seosancheck.service.place.support;
+
+import hackerton.seosancheck.common.event.CatalogChangedEvent;
+import hackerton.seosancheck.mapper.place.StoreMapper;
+import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 다른 인스턴스에서 한 import 를 감지해 이 인스턴스에도 CatalogChangedEvent 를 발행한다.
+ * CatalogChangedEvent 는 같은 JVM 안에서만 전달되므로, 주기적으로 테이블 버전(행 수:최대 id)을 읽어
+ * 바뀌었으면 스냅샷·공간 인덱스·코스 캐시·코스 풀이 같은 리스너로 다시 만들어지게 한다.
+ * 이 인스턴스의 import 가 발행한 이벤트는 버전만 갱신해 두 번 다시 만들지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionWatcher {
+
+    private final StoreMapper storeMapper;
+    private final TouristPlaceMapper touristPlaceMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<CatalogChangedEvent.Target, String> versions = new EnumMap<>(CatalogChangedEvent.Target.class);
+
+    @Value("${catalog.watch.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(initialDelayString = "${catalog.watch.interval-ms:10000}",
+            fixedDelayString = "${catalog.watch.interval-ms:10000}")
+    public void poll() {
+        if (!enabled) return;
+        for (CatalogChangedEvent.Target target : CatalogChangedEvent.Target.values()) {
+            try {
+                check(target);
+            } catch (Exception e) {
+                log.warn("카탈로그 버전 확인 실패: {}", target, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            record(event.getTarget(), version(event.getTarget()));
+        } catch (Exception e) {
+            log.debug("카탈로그 버전 갱신 실패: {}", event.getTarget(), e);
+        }
+    }
+
+    private void check(CatalogChangedEvent.Target target) {
+        String current = version(target);
+        String previous = record(target, current);
+        // 처음 읽은 값은 기준으로만 삼음 (시작할 때 이미 최신 데이터를 읽었음)
+        if (previous != null && !previous.equals(current)) {
+            log.info("다른 인스턴스의 카탈로그 변경 감지({}: {} → {})", target, previous, current);
+            eventPublisher.publishEvent(new CatalogChangedEvent(target));
+        }
+    }
+
+    // 새 버전을 기록하고 이전 버전을 돌려줌
+    private synchronized String record(CatalogChangedEvent.Target target, String version) {
+        return versions.put(target, version);
+    }
+
+    private String version(CatalogChangedEvent.Target target) {
+        return switch (target) {
+            case STORE -> storeMapper.selectVersion();
+            case TOURIST_PLACE -> touristPlaceMapper.selectVersion();
+        };
+    }
+}
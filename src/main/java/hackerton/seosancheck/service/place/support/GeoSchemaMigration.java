@@ -0,0 +1,52 @@
+package hackerton.seosancheck.service.place.support;
+
+import hackerton.seosancheck.mapper.place.StoreMapper;
+import hackerton.seosancheck.mapper.place.TouristPlaceMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * store / tourist_place 의 좌표 컬럼(geo)과 GiST 인덱스를 한 번만 만드는 마이그레이션.
+ * 이미 있으면 DDL 을 보내지 않고(ALTER 는 IF NOT EXISTS 여도 운영 테이블에 ACCESS EXCLUSIVE lock),
+ * 만들 수 없으면 예외로 기동을 멈춘다 (없으면 *InBox 대체 쿼리가 전부 실패하므로).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeoSchemaMigration implements ApplicationRunner {
+
+    private final StoreMapper storeMapper;
+    private final TouristPlaceMapper touristPlaceMapper;
+
+    @Value("${place.geo-migration.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+        try {
+            if (!touristPlaceMapper.hasGeoColumn()) {
+                touristPlaceMapper.addGeoColumn();
+                log.info("tourist_place.geo 컬럼 추가");
+            }
+            if (!touristPlaceMapper.hasGeoIndex()) {
+                touristPlaceMapper.createGeoIndex();
+                log.info("idx_tourist_place_geo 인덱스 생성");
+            }
+            if (!storeMapper.hasGeoColumn()) {
+                storeMapper.addGeoColumn();
+                log.info("store.geo 컬럼 추가");
+            }
+            if (!storeMapper.hasGeoIndex()) {
+                storeMapper.createGeoIndex();
+                log.info("idx_store_geo 인덱스 생성");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("좌표 인덱스 마이그레이션 실패 (geo 컬럼/GiST 인덱스)", e);
+        }
+    }
+}